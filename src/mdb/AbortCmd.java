@@ -7,8 +7,6 @@ import Jakarta.util.*;
 import java.io.*;
 import java.util.*;
 
-import com.sleepycat.je.Transaction;
-
 import static mdb.Main.envmnt;
 import static mdb.Main.tableCount;
 import static mdb.Main.txn;
@@ -38,57 +36,11 @@ public class AbortCmd extends Abort {
     public void execute2 () {
         
         //super.execute(); 	
-    	for(Transaction x : txn){
-    		x.abort();
-    	}
-    	
-    	for(int i=0; i< tableCount; ++i){
-    		String tableName = catalog.TableName.get(i);
-    		for(int j=0; j<catalog.ColInfo.get(tableName).size(); ++j){
-    			if(catalog.isIndexed.get(tableName).get(j).equals(true)){
-    				catalog.indexTxn.get(tableName).get(j).abort();
-    			}
-    		}
-    	}
-    	//why??!!!!
-    	/*
-    	for(int i=0; i< tableCount; ++i){
-    		String tableName = catalog.TableName.get(i);
-    		for(int j=0; j<catalog.ColInfo.get(tableName).size(); ++j){
-    			catalog.indexTxn.get(tableName).clear();
-    		}
-    	}*/
-    	
-    	txn.clear();
-    	
-    	for(int i = 0; i< tableCount; ++i){
-    		txn.add(i, envmnt.get(i).beginTransaction(null, null));
-    		
-    	}
-    	
-    	for(int i=0; i< tableCount; ++i){
-    		String tableName = catalog.TableName.get(i);
-    		for(int j=0; j<catalog.ColInfo.get(tableName).size(); ++j){
-    			catalog.indexTxn.get(tableName).add(j,catalog.indexEnv.get(tableName).get(j).beginTransaction(null, null));
-    		}
-    	}
-    	
+    	txn.abort();
+    	catalog.AllRowsChanged();
     	
     	for(int i=0;i<unCommittedTable.size();++i){
-    		catalog.ColField.remove(unCommittedTable.get(i));
-    		catalog.ColInfo.remove(unCommittedTable.get(i));
-    		catalog.indexEnv.remove(unCommittedTable.get(i));
-    		catalog.indexHome.remove(unCommittedTable.get(i));
-    		catalog.indexStore.remove(unCommittedTable.get(i));
-    		catalog.indexTxn.remove(unCommittedTable.get(i));
-    		catalog.isIndexed.remove(unCommittedTable.get(i));
-    		catalog.TableName.remove(unCommittedTable.get(i));
-    		
-    		File dir = new File("./DataBase/"+dbName+"/db/"+unCommittedTable.get(i));
-    		deleteDir(dir);
-    		File dir2 = new File("./DataBase/"+dbName+"/dbIndex/"+unCommittedTable.get(i));
-    		deleteDir(dir2);
-    		tableCount--;
+    		EnvManager.dropTable(unCommittedTable.get(i));
     	}
     	
     	
@@ -98,9 +50,12 @@ public class AbortCmd extends Abort {
     		
     		if(catalog.ColInfo.get(tableName)!=null){
     		int index = catalog.ColInfo.get(tableName).indexOf(colName);
-    		catalog.isIndexed.get(tableName).set(index, false);
+    		EnvManager.dropIndex(tableName, index);
     		}
     	}
+    	
+    	txn = envmnt.beginTransaction(null, null);
+    	
     	unCommittedTable.clear();
     	unCommittedIndex.clear();
     	
@@ -0,0 +1,417 @@
+package mdb;
+
+import static mdb.Main.catalog;
+import static mdb.Main.parallelism;
+import static mdb.Main.txn;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import com.sleepycat.je.CursorConfig;
+import com.sleepycat.je.LockMode;
+import com.sleepycat.persist.EntityCursor;
+import com.sleepycat.persist.PrimaryIndex;
+
+//how one table is read by a statement: a scan of the whole primary index or
+//a key range of one index, optionally intersected with the ranges of other
+//indexes. choose() builds a range for every index whose leading column the
+//WHERE clause bounds and leads with the one returning the fewest rows. On an
+//index over several columns the range takes the clauses that fix each of its
+//leading key columns to one value and then the bounds on the next one, so
+//dept = "CS" and age > 30 reads a single slice of an index on (dept, age).
+//When the statement only reads columns an index holds, the range is read
+//from the index alone (see isCovering()).
+public class AccessPath {
+	//an index hit costs a random fetch of the base row while a full scan reads
+	//rows in key order, so a range is only used while it returns less than
+	//1/SCAN_RATIO of the table
+	static final int SCAN_RATIO = 3;
+	//another indexed range is intersected with the chosen one while it has
+	//at most this many entries per entry of the chosen range; reading its
+	//keys is cheaper than fetching base rows that it would rule out
+	static final int INTERSECT_RATIO = 8;
+	//the race stops after RACE_RATIO rounds per entry the smallest range is
+	//guessed to hold, within RACE_MIN_ROUNDS and RACE_MAX_ROUNDS, and the
+	//guesses decide instead
+	static final int RACE_RATIO = 4;
+	static final long RACE_MIN_ROUNDS = 256;
+	static final long RACE_MAX_ROUNDS = 16384;
+
+	public final String tableName;
+	//indexed column, -1 for a full scan
+	public final int col;
+	//values of the index's first key columns, fixed by equality clauses
+	private Object[] prefix = new Object[0];
+	//bounds on the key column after the prefix
+	private Bound range = new Bound();
+	//some clause on a key column contradicts another
+	private boolean empty = false;
+	//share of the table the range is guessed to hold, from the selectivity
+	//of the clauses it takes into account
+	private double selectivity = 1;
+	//rows counted while planning
+	private long estimate = -1;
+	//the index holds every column the statement reads
+	private boolean covering = false;
+	//the other indexed ranges of the WHERE clause, for intersect()
+	private List<AccessPath> others = new ArrayList<AccessPath>();
+
+	AccessPath(String tableName, int col){
+		this.tableName = tableName;
+		this.col = col;
+	}
+
+	public boolean isFullScan(){
+		return col == -1;
+	}
+
+	public long getEstimate(){
+		return estimate;
+	}
+
+	public boolean isCovering(){
+		return covering;
+	}
+
+	//a path for statements that need whole rows
+	public static AccessPath choose(String tableName, Predicate where){
+		return choose(tableName, where, null);
+	}
+
+	//needed: the columns the statement reads, or null for whole rows
+	public static AccessPath choose(String tableName, Predicate where, Collection<Integer> needed){
+		ArrayList<AccessPath> cand = new ArrayList<AccessPath>();
+		for(Predicate p : where.conjuncts()){
+			if(!(p instanceof Predicate.Compare))
+				continue;
+			Predicate.Compare c = (Predicate.Compare) p;
+			if(c.op == Predicate.NE || !catalog.isIndexed.get(tableName).get(c.col))
+				continue;
+			boolean seen = false;
+			for(AccessPath x : cand){
+				seen = seen || x.col == c.col;
+			}
+			if(!seen)
+				cand.add(new AccessPath(tableName, c.col));
+		}
+		if(cand.isEmpty())
+			return new AccessPath(tableName, -1);
+		for(AccessPath a : cand){
+			a.bound(where);
+			a.covering = needed != null && catalog.GetIndexDA(tableName, a.col).covers(needed);
+		}
+		return race(tableName, cand);
+	}
+
+	//take the bounds the clauses put on each key column of the index: the
+	//leading columns held to one value form the prefix and the column after
+	//them gives the range
+	private void bound(Predicate where){
+		ArrayList<Integer> keys = catalog.GetIndexKeys(tableName, col);
+		Bound[] b = new Bound[keys.size()];
+		double[] sel = new double[keys.size()];
+		for(int k=0;k<b.length;++k){
+			b[k] = new Bound();
+			sel[k] = 1;
+		}
+		for(Predicate p : where.conjuncts()){
+			if(!(p instanceof Predicate.Compare))
+				continue;
+			Predicate.Compare c = (Predicate.Compare) p;
+			int k = keys.indexOf(c.col);
+			if(c.op != Predicate.NE && k != -1){
+				b[k].narrow(c.op, c.key());
+				sel[k] *= c.selectivity();
+			}
+		}
+		int n = 0;
+		while(n < b.length - 1 && b[n].isPoint()){
+			++n;
+		}
+		prefix = new Object[n];
+		for(int k=0;k<n;++k){
+			prefix[k] = b[k].lo;
+		}
+		range = b[n];
+		for(int k=0;k<=n;++k){
+			selectivity *= sel[k];
+		}
+		for(Bound x : b){
+			empty = empty || x.isEmpty();
+		}
+	}
+
+	//whether the range takes the clauses on column c into account
+	public boolean bounds(int c){
+		if(isFullScan())
+			return false;
+		int k = catalog.GetIndexKeys(tableName, col).indexOf(c);
+		return k != -1 && k <= prefix.length;
+	}
+
+	//the values one key column may take; a null bound is open
+	private static class Bound {
+		Object lo = null;
+		boolean loInc = true;
+		Object hi = null;
+		boolean hiInc = true;
+
+		void narrow(int op, Object k){
+			if(op == Predicate.EQ || op == Predicate.GT || op == Predicate.GE){
+				if(lo == null || Row.compareValues(k, lo) > 0){
+					lo = k;
+					loInc = op != Predicate.GT;
+				}
+				else if(Row.compareValues(k, lo) == 0)
+					loInc = loInc && op != Predicate.GT;
+			}
+			if(op == Predicate.EQ || op == Predicate.LT || op == Predicate.LE){
+				if(hi == null || Row.compareValues(k, hi) < 0){
+					hi = k;
+					hiInc = op != Predicate.LT;
+				}
+				else if(Row.compareValues(k, hi) == 0)
+					hiInc = hiInc && op != Predicate.LT;
+			}
+		}
+
+		//the bounds contradict each other, e.g. a > 5 and a < 3
+		boolean isEmpty(){
+			if(lo == null || hi == null)
+				return false;
+			int c = Row.compareValues(lo, hi);
+			return c > 0 || (c == 0 && !(loInc && hiInc));
+		}
+
+		boolean isPoint(){
+			return lo != null && hi != null && Row.compareValues(lo, hi) == 0 && loInc && hiInc;
+		}
+	}
+
+	//count the keys of every candidate range and of the table side by side.
+	//The first range to run out is the smallest one; if the table runs out
+	//first every range covers more than 1/SCAN_RATIO of it and the table is
+	//scanned, unless a range is covering: its entries are read in key order
+	//without a fetch per row, so it is never worse than the scan, and the
+	//smallest covering range is taken. Either way the counting stops after
+	//about as many keys as the chosen plan will read, or once it has used up
+	//its budget of rounds; see guess().
+	private static AccessPath race(String tableName, List<AccessPath> cand){
+		for(AccessPath a : cand){
+			if(a.empty){
+				a.estimate = 0;
+				return a;
+			}
+		}
+		CursorConfig config = new CursorConfig();
+		config.setReadUncommitted(true);
+		ArrayList<IndexTupleDA.Range> cursors = new ArrayList<IndexTupleDA.Range>();
+		EntityCursor<Long> table = null;
+		try{
+			for(AccessPath a : cand){
+				cursors.add(a.open(config));
+			}
+			table = catalog.GetTupleDA(tableName).pIdx.keys(txn, config);
+			long rows = catalog.GetRowEstimate(tableName);
+			long smallest = Long.MAX_VALUE;
+			for(AccessPath a : cand){
+				smallest = Math.min(smallest, (long) Math.ceil(rows * a.selectivity));
+			}
+			long budget = Math.max(RACE_MIN_ROUNDS, Math.min(RACE_MAX_ROUNDS, smallest * RACE_RATIO));
+			for(long n=0;;++n){
+				if(n == budget)
+					return guess(tableName, cand, n);
+				for(int i=0;i<cand.size();++i){
+					if(!cursors.get(i).next()){
+						AccessPath a = cand.get(i);
+						a.estimate = n;
+						a.others.addAll(cand);
+						a.others.remove(a);
+						return a;
+					}
+				}
+				for(int k=0;k<SCAN_RATIO;++k){
+					if(table.next() == null){
+						AccessPath c = smallestCovering(cand, cursors, n + 1);
+						if(c != null)
+							return c;
+						AccessPath full = new AccessPath(tableName, -1);
+						full.estimate = n * SCAN_RATIO + k;
+						return full;
+					}
+				}
+			}
+		}finally{
+			for(IndexTupleDA.Range c : cursors){
+				c.close();
+			}
+			if(table != null)
+				table.close();
+		}
+	}
+
+	//the race ran out of rounds: every range holds more than n entries and
+	//the table more than n * SCAN_RATIO rows. Each range is put at its
+	//guessed size, or n if that is more, and the smallest is taken while it
+	//holds less than 1/SCAN_RATIO of the table; otherwise the smallest
+	//covering range, or else a full scan.
+	private static AccessPath guess(String tableName, List<AccessPath> cand, long n){
+		long rows = Math.max(catalog.GetRowEstimate(tableName), n * SCAN_RATIO);
+		AccessPath best = null;
+		AccessPath covering = null;
+		for(AccessPath a : cand){
+			a.estimate = Math.max(n, (long) Math.ceil(rows * a.selectivity));
+			if(best == null || a.estimate < best.estimate)
+				best = a;
+			if(a.covering && (covering == null || a.estimate < covering.estimate))
+				covering = a;
+		}
+		if(best.estimate * SCAN_RATIO < rows){
+			best.others.addAll(cand);
+			best.others.remove(best);
+			return best;
+		}
+		if(covering != null)
+			return covering;
+		AccessPath full = new AccessPath(tableName, -1);
+		full.estimate = rows;
+		return full;
+	}
+
+	//keep counting the covering ranges, each already counted to n keys, and
+	//take the first to run out; null if no range is covering
+	private static AccessPath smallestCovering(List<AccessPath> cand, List<IndexTupleDA.Range> cursors, long n){
+		boolean any = false;
+		for(AccessPath a : cand){
+			any = any || a.covering;
+		}
+		if(!any)
+			return null;
+		for(;;++n){
+			for(int i=0;i<cand.size();++i){
+				AccessPath a = cand.get(i);
+				if(a.covering && !cursors.get(i).next()){
+					a.estimate = n;
+					return a;
+				}
+			}
+		}
+	}
+
+	//sorted row ids that fall in the chosen range and in every other indexed
+	//range small enough to be worth reading, so base rows are only fetched
+	//for rows that pass all of them. Returns null when there is no other
+	//range and the chosen one should just be streamed with open().
+	public long[] intersect(){
+		if(others.isEmpty())
+			return null;
+		long[] ids = readRowIds(Long.MAX_VALUE);
+		for(AccessPath b : others){
+			if(ids.length == 0)
+				break;
+			long[] bIds = b.readRowIds((long) ids.length * INTERSECT_RATIO);
+			if(bIds != null)
+				ids = intersect(ids, bIds);
+		}
+		return ids;
+	}
+
+	private static long[] intersect(long[] a, long[] b){
+		long[] res = new long[Math.min(a.length, b.length)];
+		int n = 0;
+		int i = 0;
+		int j = 0;
+		while(i < a.length && j < b.length){
+			if(a[i] < b[j])
+				++i;
+			else if(a[i] > b[j])
+				++j;
+			else{
+				res[n++] = a[i];
+				++i;
+				++j;
+			}
+		}
+		return Arrays.copyOf(res, n);
+	}
+
+	//row ids of the range read from the index keys alone, sorted; null if
+	//there are more than cap of them
+	private long[] readRowIds(long cap){
+		CursorConfig config = new CursorConfig();
+		config.setReadUncommitted(true);
+		IndexTupleDA.Range c = open(config);
+		long[] ids = new long[16];
+		int n = 0;
+		try{
+			while(c.next()){
+				if(n == cap)
+					return null;
+				if(n == ids.length)
+					ids = Arrays.copyOf(ids, n * 2);
+				ids[n++] = c.rowId();
+			}
+		}finally{
+			c.close();
+		}
+		ids = Arrays.copyOf(ids, n);
+		Arrays.sort(ids);
+		return ids;
+	}
+
+	//base rows of the chosen range, or of the intersection, that pass the
+	//whole WHERE clause. Each row is checked once as it is fetched, which also
+	//covers the clauses the ranges did not. A full scan path reads the table
+	//with one cursor on the caller, or with a ParallelScan under -p.
+	public ArrayList<Tuple> fetch(Predicate where){
+		if(isFullScan() && parallelism > 1)
+			return new ParallelScan(tableName, where).fetch();
+		PrimaryIndex<Long,Tuple> pIdx = catalog.GetTupleDA(tableName).pIdx;
+		ArrayList<Tuple> res = new ArrayList<Tuple>();
+		if(isFullScan()){
+			CursorConfig config = new CursorConfig();
+			config.setReadUncommitted(true);
+			EntityCursor<Tuple> c = pIdx.entities(txn, config);
+			try{
+				for(Tuple t : c){
+					if(where.eval(t.getRow()))
+						res.add(t);
+				}
+			}finally{
+				c.close();
+			}
+			return res;
+		}
+		long[] ids = intersect();
+		if(ids != null){
+			for(long pKey : ids){
+				Tuple t = pIdx.get(txn, pKey, LockMode.READ_UNCOMMITTED);
+				if(t != null && where.eval(t.getRow()))
+					res.add(t);
+			}
+			return res;
+		}
+		CursorConfig config = new CursorConfig();
+		config.setReadUncommitted(true);
+		IndexTupleDA.Range c = open(config);
+		try{
+			while(c.next()){
+				Tuple t = pIdx.get(txn, c.rowId(), LockMode.READ_UNCOMMITTED);
+				if(t != null && where.eval(t.getRow()))
+					res.add(t);
+			}
+		}finally{
+			c.close();
+		}
+		return res;
+	}
+
+	//index entries of the chosen range in key order, the row ids of a key in
+	//row id order; only valid for an index path
+	public IndexTupleDA.Range open(CursorConfig config){
+		return catalog.GetIndexDA(tableName, col).open(txn, prefix, range.lo, range.loInc, range.hi, range.hiInc, config);
+	}
+
+}
@@ -23,20 +23,20 @@ public class BaliParser implements BaliParserConstants {
         }
     }
 
-    // Wraps an optional node around an AstNode:
-    //
+    // Wraps an optional node around an AstNode:
+    //
     static AstOptNode opt (AstNode node) {
         return new AstOptNode () . setParms (node) ;
     }
 
-    // Wraps an optional node around an AstToken:
-    //
+    // Wraps an optional node around an AstToken:
+    //
     static AstOptToken opt (AstToken token) {
         return new AstOptToken () . setParms (token) ;
     }
 
-    // Forces an end-of-file check in the tokenStream:
-    //
+    // Forces an end-of-file check in the tokenStream:
+    //
     public void requireEOF () throws ParseException {
         try {
             jj_consume_token (BaliParserConstants.EOF) ;
@@ -47,12 +47,12 @@ public class BaliParser implements BaliParserConstants {
         }
     }
 
-    // Converts a JavaCC Token to a Bali AstToken:
-    //
+    // Converts a JavaCC Token to a Bali AstToken:
+    //
     static AstToken t2at (Token tok) {
 
-        // Special case -- if token is optional:
-        //
+        // Special case -- if token is optional:
+        //
         if (tok == null)
             return (null) ;
 
@@ -67,15 +67,15 @@ public class BaliParser implements BaliParserConstants {
         return new AstToken().setParms (white, tok.image, tok.endLine) ;
     }
 
-//-----------------------------------//
-// JAVACODE blocks from grammar:
-//-----------------------------------//
+//-----------------------------------//
+// JAVACODE blocks from grammar:
+//-----------------------------------//
 
-// No JAVACODE blocks in Bali grammar.
+// No JAVACODE blocks in Bali grammar.
 
-//-----------------------------------//
-// Productions from Bali grammar:
-//-----------------------------------//
+//-----------------------------------//
+// Productions from Bali grammar:
+//-----------------------------------//
   static final public SqlLang SqlLang() throws ParseException {
     Ddl_stmt dd0=null ;
     Dml_stmt dm0=null ;
@@ -93,6 +93,7 @@ public class BaliParser implements BaliParserConstants {
     case DELETE:
     case EXIT:
     case INSERT:
+    case LOAD:
     case OPEN:
     case SCRIPT:
     case SELECT:
@@ -225,12 +226,25 @@ public class BaliParser implements BaliParserConstants {
   }
 
   static final public Decl_ind Decl_ind() throws ParseException {
-    Rel_dot_field re0=null ;
-    Token to1=null, to0=null ;
+    Include in0=null ;
+    Index_key in1=null ;
+    Rel_name re0=null ;
+    Token to2=null, to1=null, to0=null ;
     to0 = jj_consume_token(INDEX);
-    re0 = Rel_dot_field();
-    to1 = jj_consume_token(SEMI);
-     {if (true) return new IndxDecl().setParms (t2at(to0), re0, t2at(to1)) ;}
+    re0 = Rel_name();
+    to1 = jj_consume_token(DOT);
+    in1 = Index_key();
+    switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+    case INCLUDE:
+      in0 = Include();
+      break;
+    default:
+      jj_la1[4] = jj_gen;
+      ;
+    }
+    to2 = jj_consume_token(SEMI);
+     {if (true) return new IndxDecl().setParms
+    (t2at(to0), re0, t2at(to1), in1, opt(in0), t2at(to2)) ;}
     throw new Error("Missing return statement in function");
   }
 
@@ -271,6 +285,7 @@ public class BaliParser implements BaliParserConstants {
     Delete de0=null ;
     ExitMDB ex0=null ;
     Insert in0=null ;
+    Load lo0=null ;
     Open op0=null ;
     Script sc0=null ;
     Select se0=null ;
@@ -300,6 +315,10 @@ public class BaliParser implements BaliParserConstants {
       in0 = Insert();
      {if (true) return (Dml_stmt) in0 ;}
       break;
+    case LOAD:
+      lo0 = Load();
+     {if (true) return (Dml_stmt) lo0 ;}
+      break;
     case OPEN:
       op0 = Open();
      {if (true) return (Dml_stmt) op0 ;}
@@ -317,7 +336,7 @@ public class BaliParser implements BaliParserConstants {
      {if (true) return (Dml_stmt) up0 ;}
       break;
     default:
-      jj_la1[4] = jj_gen;
+      jj_la1[5] = jj_gen;
       jj_consume_token(-1);
       throw new ParseException();
     }
@@ -341,6 +360,30 @@ public class BaliParser implements BaliParserConstants {
     throw new Error("Missing return statement in function");
   }
 
+  static final public Field_list Field_list() throws ParseException {
+    Field_list list = new Field_list () ;
+    Field_name fi0=null ;
+    Token to0=null ;
+    fi0 = Field_name();
+     list.add (new Field_listElem().setParms (fi0)) ;
+    label_2:
+    while (true) {
+      switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+      case COMMA:
+        ;
+        break;
+      default:
+        jj_la1[6] = jj_gen;
+        break label_2;
+      }
+      to0 = jj_consume_token(COMMA);
+      fi0 = Field_name();
+         list.add (new Field_listElem().setParms (t2at(to0), fi0)) ;
+    }
+     {if (true) return list ;}
+    throw new Error("Missing return statement in function");
+  }
+
   static final public Field_name Field_name() throws ParseException {
     Token to0=null ;
     to0 = jj_consume_token(IDENTIFIER);
@@ -361,7 +404,7 @@ public class BaliParser implements BaliParserConstants {
      {if (true) return (Field_spec) fi0 ;}
         break;
       default:
-        jj_la1[5] = jj_gen;
+        jj_la1[7] = jj_gen;
         jj_consume_token(-1);
         throw new ParseException();
       }
@@ -381,7 +424,7 @@ public class BaliParser implements BaliParserConstants {
      {if (true) return new StrField().setParms (t2at(to0)) ;}
       break;
     default:
-      jj_la1[6] = jj_gen;
+      jj_la1[8] = jj_gen;
       jj_consume_token(-1);
       throw new ParseException();
     }
@@ -394,15 +437,15 @@ public class BaliParser implements BaliParserConstants {
     Token to0=null ;
     fi0 = Field_decl();
      list.add (new Fld_decl_listElem().setParms (fi0)) ;
-    label_2:
+    label_3:
     while (true) {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
       case COMMA:
         ;
         break;
       default:
-        jj_la1[7] = jj_gen;
-        break label_2;
+        jj_la1[9] = jj_gen;
+        break label_3;
       }
       to0 = jj_consume_token(COMMA);
       fi0 = Field_decl();
@@ -412,20 +455,52 @@ public class BaliParser implements BaliParserConstants {
     throw new Error("Missing return statement in function");
   }
 
+  static final public Include Include() throws ParseException {
+    Field_list fi0=null ;
+    Token to2=null, to1=null, to0=null ;
+    to0 = jj_consume_token(INCLUDE);
+    to1 = jj_consume_token(LP);
+    fi0 = Field_list();
+    to2 = jj_consume_token(RP);
+     {if (true) return new IncludeCols().setParms (t2at(to0), t2at(to1), fi0, t2at(to2)) ;}
+    throw new Error("Missing return statement in function");
+  }
+
+  static final public Index_key Index_key() throws ParseException {
+    Field_list fi0=null ;
+    Field_name fi1=null ;
+    Token to1=null, to0=null ;
+    switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+    case IDENTIFIER:
+      fi1 = Field_name();
+     {if (true) return new KeyCol().setParms (fi1) ;}
+      break;
+    case LP:
+      to0 = jj_consume_token(LP);
+      fi0 = Field_list();
+      to1 = jj_consume_token(RP);
+     {if (true) return new KeyCols().setParms (t2at(to0), fi0, t2at(to1)) ;}
+      break;
+    default:
+      jj_la1[10] = jj_gen;
+      jj_consume_token(-1);
+      throw new ParseException();
+    }
+    throw new Error("Missing return statement in function");
+  }
+
   static final public Insert Insert() throws ParseException {
-    Literal_list li0=null ;
     Rel_name re0=null ;
-    Token to5=null, to4=null, to3=null, to2=null, to1=null, to0=null ;
+    Values_list va0=null ;
+    Token to3=null, to2=null, to1=null, to0=null ;
     to0 = jj_consume_token(INSERT);
     to1 = jj_consume_token(INTO);
     re0 = Rel_name();
     to2 = jj_consume_token(VALUES);
-    to3 = jj_consume_token(LP);
-    li0 = Literal_list();
-    to4 = jj_consume_token(RP);
-    to5 = jj_consume_token(SEMI);
+    va0 = Values_list();
+    to3 = jj_consume_token(SEMI);
      {if (true) return new InsertCmd().setParms
-    (t2at(to0), t2at(to1), re0, t2at(to2), t2at(to3), li0, t2at(to4), t2at(to5)) ;}
+    (t2at(to0), t2at(to1), re0, t2at(to2), va0, t2at(to3)) ;}
     throw new Error("Missing return statement in function");
   }
 
@@ -441,7 +516,7 @@ public class BaliParser implements BaliParserConstants {
      {if (true) return new IntLit().setParms (t2at(to0)) ;}
       break;
     default:
-      jj_la1[8] = jj_gen;
+      jj_la1[11] = jj_gen;
       jj_consume_token(-1);
       throw new ParseException();
     }
@@ -454,15 +529,15 @@ public class BaliParser implements BaliParserConstants {
     Token to0=null ;
     li0 = Literal();
      list.add (new Literal_listElem().setParms (li0)) ;
-    label_3:
+    label_4:
     while (true) {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
       case COMMA:
         ;
         break;
       default:
-        jj_la1[9] = jj_gen;
-        break label_3;
+        jj_la1[12] = jj_gen;
+        break label_4;
       }
       to0 = jj_consume_token(COMMA);
       li0 = Literal();
@@ -472,6 +547,18 @@ public class BaliParser implements BaliParserConstants {
     throw new Error("Missing return statement in function");
   }
 
+  static final public Load Load() throws ParseException {
+    Rel_name re0=null ;
+    Token to3=null, to2=null, to1=null, to0=null ;
+    to0 = jj_consume_token(LOAD);
+    re0 = Rel_name();
+    to1 = jj_consume_token(FROM);
+    to2 = jj_consume_token(STRING_LITERAL);
+    to3 = jj_consume_token(SEMI);
+     {if (true) return new LoadCmd().setParms (t2at(to0), re0, t2at(to1), t2at(to2), t2at(to3)) ;}
+    throw new Error("Missing return statement in function");
+  }
+
   static final public One_rel_clause One_rel_clause() throws ParseException {
     Field_name fi0=null ;
     Literal li0=null ;
@@ -489,15 +576,15 @@ public class BaliParser implements BaliParserConstants {
     Token to0=null ;
     on0 = One_rel_clause();
      list.add (new One_rel_predElem().setParms (on0)) ;
-    label_4:
+    label_5:
     while (true) {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
       case AND:
         ;
         break;
       default:
-        jj_la1[10] = jj_gen;
-        break label_4;
+        jj_la1[13] = jj_gen;
+        break label_5;
       }
       to0 = jj_consume_token(AND);
       on0 = One_rel_clause();
@@ -522,15 +609,15 @@ public class BaliParser implements BaliParserConstants {
     Token to0=null ;
     cl0 = Clause();
      list.add (new PredElem().setParms (cl0)) ;
-    label_5:
+    label_6:
     while (true) {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
       case AND:
         ;
         break;
       default:
-        jj_la1[11] = jj_gen;
-        break label_5;
+        jj_la1[14] = jj_gen;
+        break label_6;
       }
       to0 = jj_consume_token(AND);
       cl0 = Clause();
@@ -553,7 +640,7 @@ public class BaliParser implements BaliParserConstants {
      {if (true) return new All().setParms (t2at(to0)) ;}
       break;
     default:
-      jj_la1[12] = jj_gen;
+      jj_la1[15] = jj_gen;
       jj_consume_token(-1);
       throw new ParseException();
     }
@@ -589,7 +676,7 @@ public class BaliParser implements BaliParserConstants {
      {if (true) return new Neq().setParms (t2at(to0), t2at(to1)) ;}
       break;
     default:
-      jj_la1[13] = jj_gen;
+      jj_la1[16] = jj_gen;
       jj_consume_token(-1);
       throw new ParseException();
     }
@@ -613,15 +700,15 @@ public class BaliParser implements BaliParserConstants {
     Token to0=null ;
     re0 = Rel_name();
      list.add (new Rel_listElem().setParms (re0)) ;
-    label_6:
+    label_7:
     while (true) {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
       case COMMA:
         ;
         break;
       default:
-        jj_la1[14] = jj_gen;
-        break label_6;
+        jj_la1[17] = jj_gen;
+        break label_7;
       }
       to0 = jj_consume_token(COMMA);
       re0 = Rel_name();
@@ -661,7 +748,7 @@ public class BaliParser implements BaliParserConstants {
       wh0 = WherePred();
       break;
     default:
-      jj_la1[15] = jj_gen;
+      jj_la1[18] = jj_gen;
       ;
     }
     to2 = jj_consume_token(SEMI);
@@ -686,7 +773,7 @@ public class BaliParser implements BaliParserConstants {
      {if (true) return new ShowRel().setParms (t2at(to0), re0, t2at(to1)) ;}
         break;
       default:
-        jj_la1[16] = jj_gen;
+        jj_la1[19] = jj_gen;
         jj_consume_token(-1);
         throw new ParseException();
       }
@@ -700,15 +787,15 @@ public class BaliParser implements BaliParserConstants {
     Token to0=null ;
     fi0 = Field_spec();
      list.add (new Spec_listElem().setParms (fi0)) ;
-    label_7:
+    label_8:
     while (true) {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
       case COMMA:
         ;
         break;
       default:
-        jj_la1[17] = jj_gen;
-        break label_7;
+        jj_la1[20] = jj_gen;
+        break label_8;
       }
       to0 = jj_consume_token(COMMA);
       fi0 = Field_spec();
@@ -735,6 +822,40 @@ public class BaliParser implements BaliParserConstants {
     throw new Error("Missing return statement in function");
   }
 
+  static final public Values Values() throws ParseException {
+    Literal_list li0=null ;
+    Token to1=null, to0=null ;
+    to0 = jj_consume_token(LP);
+    li0 = Literal_list();
+    to1 = jj_consume_token(RP);
+     {if (true) return new ValuesRow().setParms (t2at(to0), li0, t2at(to1)) ;}
+    throw new Error("Missing return statement in function");
+  }
+
+  static final public Values_list Values_list() throws ParseException {
+    Values_list list = new Values_list () ;
+    Values va0=null ;
+    Token to0=null ;
+    va0 = Values();
+     list.add (new Values_listElem().setParms (va0)) ;
+    label_9:
+    while (true) {
+      switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+      case COMMA:
+        ;
+        break;
+      default:
+        jj_la1[21] = jj_gen;
+        break label_9;
+      }
+      to0 = jj_consume_token(COMMA);
+      va0 = Values();
+         list.add (new Values_listElem().setParms (t2at(to0), va0)) ;
+    }
+     {if (true) return list ;}
+    throw new Error("Missing return statement in function");
+  }
+
   static final public WherePred WherePred() throws ParseException {
     Pred pr0=null ;
     Token to0=null ;
@@ -765,59 +886,59 @@ public class BaliParser implements BaliParserConstants {
     finally { jj_save(2, xla); }
   }
 
-  static final private boolean jj_3R_13() {
+  static final private boolean jj_3R_15() {
     if (jj_scan_token(IDENTIFIER)) return true;
     return false;
   }
 
-  static final private boolean jj_3_1() {
-    if (jj_3R_8()) return true;
-    if (jj_scan_token(EQ)) return true;
-    if (jj_3R_8()) return true;
+  static final private boolean jj_3R_11() {
+    if (jj_scan_token(IDENTIFIER)) return true;
     return false;
   }
 
-  static final private boolean jj_3_2() {
-    if (jj_3R_9()) return true;
+  static final private boolean jj_3R_14() {
+    if (jj_3R_11()) return true;
     if (jj_scan_token(DOT)) return true;
+    if (jj_3R_15()) return true;
     return false;
   }
 
-  static final private boolean jj_3R_9() {
-    if (jj_scan_token(IDENTIFIER)) return true;
+  static final private boolean jj_3_3() {
+    if (jj_scan_token(SHOW)) return true;
+    if (jj_scan_token(SEMI)) return true;
     return false;
   }
 
-  static final private boolean jj_3R_11() {
-    if (jj_3R_13()) return true;
+  static final private boolean jj_3_1() {
+    if (jj_3R_10()) return true;
+    if (jj_scan_token(EQ)) return true;
+    if (jj_3R_10()) return true;
     return false;
   }
 
-  static final private boolean jj_3R_12() {
-    if (jj_3R_9()) return true;
+  static final private boolean jj_3_2() {
+    if (jj_3R_11()) return true;
     if (jj_scan_token(DOT)) return true;
-    if (jj_3R_13()) return true;
     return false;
   }
 
-  static final private boolean jj_3_3() {
-    if (jj_scan_token(SHOW)) return true;
-    if (jj_scan_token(SEMI)) return true;
+  static final private boolean jj_3R_13() {
+    if (jj_3R_15()) return true;
     return false;
   }
 
-  static final private boolean jj_3R_8() {
+  static final private boolean jj_3R_10() {
     Token xsp;
     xsp = jj_scanpos;
-    if (jj_3R_10()) {
+    if (jj_3R_12()) {
     jj_scanpos = xsp;
-    if (jj_3R_11()) return true;
+    if (jj_3R_13()) return true;
     }
     return false;
   }
 
-  static final private boolean jj_3R_10() {
-    if (jj_3R_12()) return true;
+  static final private boolean jj_3R_12() {
+    if (jj_3R_14()) return true;
     return false;
   }
 
@@ -831,7 +952,7 @@ public class BaliParser implements BaliParserConstants {
   static public boolean lookingAhead = false;
   static private boolean jj_semLA;
   static private int jj_gen;
-  static final private int[] jj_la1 = new int[18];
+  static final private int[] jj_la1 = new int[22];
   static private int[] jj_la1_0;
   static private int[] jj_la1_1;
   static {
@@ -839,10 +960,10 @@ public class BaliParser implements BaliParserConstants {
       jj_la1_1();
    }
    private static void jj_la1_0() {
-      jj_la1_0 = new int[] {0x88e88000,0x100000,0x0,0x80400000,0x8a88000,0x0,0x0,0x100000,0x0,0x100000,0x20000,0x20000,0x10000,0x64040000,0x100000,0x0,0x0,0x100000,};
+      jj_la1_0 = new int[] {0x8e88000,0x100000,0x0,0x400000,0x80000000,0x8a88000,0x100000,0x0,0x0,0x100000,0x0,0x0,0x100000,0x20000,0x20000,0x10000,0x64040000,0x100000,0x0,0x0,0x100000,0x100000,};
    }
    private static void jj_la1_1() {
-      jj_la1_1 = new int[] {0x12e81,0x0,0x200000,0x2800,0x10681,0x200000,0x4002,0x0,0x180000,0x0,0x0,0x0,0x200000,0x48,0x0,0x40000,0x2000,0x0,};
+      jj_la1_1 = new int[] {0x25d23,0x0,0x400000,0x5001,0x0,0x20d22,0x0,0x400000,0x8004,0x0,0x400040,0x300000,0x0,0x0,0x0,0x400000,0x90,0x0,0x80000,0x4000,0x0,0x0,};
    }
   static final private JJCalls[] jj_2_rtns = new JJCalls[3];
   static private boolean jj_rescan = false;
@@ -864,7 +985,7 @@ public class BaliParser implements BaliParserConstants {
     token = new Token();
     jj_ntk = -1;
     jj_gen = 0;
-    for (int i = 0; i < 18; i++) jj_la1[i] = -1;
+    for (int i = 0; i < 22; i++) jj_la1[i] = -1;
     for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
   }
 
@@ -877,7 +998,7 @@ public class BaliParser implements BaliParserConstants {
     token = new Token();
     jj_ntk = -1;
     jj_gen = 0;
-    for (int i = 0; i < 18; i++) jj_la1[i] = -1;
+    for (int i = 0; i < 22; i++) jj_la1[i] = -1;
     for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
   }
 
@@ -894,7 +1015,7 @@ public class BaliParser implements BaliParserConstants {
     token = new Token();
     jj_ntk = -1;
     jj_gen = 0;
-    for (int i = 0; i < 18; i++) jj_la1[i] = -1;
+    for (int i = 0; i < 22; i++) jj_la1[i] = -1;
     for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
   }
 
@@ -904,7 +1025,7 @@ public class BaliParser implements BaliParserConstants {
     token = new Token();
     jj_ntk = -1;
     jj_gen = 0;
-    for (int i = 0; i < 18; i++) jj_la1[i] = -1;
+    for (int i = 0; i < 22; i++) jj_la1[i] = -1;
     for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
   }
 
@@ -920,7 +1041,7 @@ public class BaliParser implements BaliParserConstants {
     token = new Token();
     jj_ntk = -1;
     jj_gen = 0;
-    for (int i = 0; i < 18; i++) jj_la1[i] = -1;
+    for (int i = 0; i < 22; i++) jj_la1[i] = -1;
     for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
   }
 
@@ -929,7 +1050,7 @@ public class BaliParser implements BaliParserConstants {
     token = new Token();
     jj_ntk = -1;
     jj_gen = 0;
-    for (int i = 0; i < 18; i++) jj_la1[i] = -1;
+    for (int i = 0; i < 22; i++) jj_la1[i] = -1;
     for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
   }
 
@@ -1040,15 +1161,15 @@ public class BaliParser implements BaliParserConstants {
 
   static public ParseException generateParseException() {
     jj_expentries.removeAllElements();
-    boolean[] la1tokens = new boolean[55];
-    for (int i = 0; i < 55; i++) {
+    boolean[] la1tokens = new boolean[56];
+    for (int i = 0; i < 56; i++) {
       la1tokens[i] = false;
     }
     if (jj_kind >= 0) {
       la1tokens[jj_kind] = true;
       jj_kind = -1;
     }
-    for (int i = 0; i < 18; i++) {
+    for (int i = 0; i < 22; i++) {
       if (jj_la1[i] == jj_gen) {
         for (int j = 0; j < 32; j++) {
           if ((jj_la1_0[i] & (1<<j)) != 0) {
@@ -1060,7 +1181,7 @@ public class BaliParser implements BaliParserConstants {
         }
       }
     }
-    for (int i = 0; i < 55; i++) {
+    for (int i = 0; i < 56; i++) {
       if (la1tokens[i]) {
         jj_expentry = new int[1];
         jj_expentry[0] = i;
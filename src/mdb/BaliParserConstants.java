@@ -25,30 +25,31 @@ public interface BaliParserConstants {
   int FROM = 28;
   int GE = 29;
   int GT = 30;
-  int INDEX = 31;
-  int INSERT = 32;
-  int INTEGER = 33;
-  int INTO = 34;
-  int LE = 35;
-  int LOAD = 36;
-  int LP = 37;
-  int LT = 38;
-  int OPEN = 39;
-  int RP = 40;
-  int SCRIPT = 41;
-  int SELECT = 42;
-  int SEMI = 43;
-  int SET = 44;
-  int SHOW = 45;
-  int STRING = 46;
-  int TABLE = 47;
-  int UPDATE = 48;
-  int VALUES = 49;
-  int WHERE = 50;
-  int STRING_LITERAL = 51;
-  int INTEGER_LITERAL = 52;
-  int IDENTIFIER = 53;
-  int OTHER = 54;
+  int INCLUDE = 31;
+  int INDEX = 32;
+  int INSERT = 33;
+  int INTEGER = 34;
+  int INTO = 35;
+  int LE = 36;
+  int LOAD = 37;
+  int LP = 38;
+  int LT = 39;
+  int OPEN = 40;
+  int RP = 41;
+  int SCRIPT = 42;
+  int SELECT = 43;
+  int SEMI = 44;
+  int SET = 45;
+  int SHOW = 46;
+  int STRING = 47;
+  int TABLE = 48;
+  int UPDATE = 49;
+  int VALUES = 50;
+  int WHERE = 51;
+  int STRING_LITERAL = 52;
+  int INTEGER_LITERAL = 53;
+  int IDENTIFIER = 54;
+  int OTHER = 55;
 
   int DEFAULT = 0;
   int IN_SINGLE_LINE_COMMENT = 1;
@@ -87,6 +88,7 @@ public interface BaliParserConstants {
     "\"from\"",
     "\">=\"",
     "\">\"",
+    "\"include\"",
     "\"index\"",
     "\"insert\"",
     "\"int\"",
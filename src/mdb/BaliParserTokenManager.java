@@ -12,54 +12,64 @@ private static final int jjStopStringLiteralDfa_0(int pos, long active0)
       case 0:
          if ((active0 & 0x1000140L) != 0L)
             return 2;
-         if ((active0 & 0x7f69798ea8000L) != 0L)
+         if ((active0 & 0xfed2f98ea8000L) != 0L)
          {
-            jjmatchedKind = 53;
+            jjmatchedKind = 54;
             return 15;
          }
          return -1;
       case 1:
          if ((active0 & 0x100L) != 0L)
             return 0;
-         if ((active0 & 0x7f69798ea8000L) != 0L)
+         if ((active0 & 0xfed2f98ea8000L) != 0L)
          {
-            jjmatchedKind = 53;
+            jjmatchedKind = 54;
             jjmatchedPos = 1;
             return 15;
          }
          return -1;
       case 2:
-         if ((active0 & 0x7a69198e88000L) != 0L)
+         if ((active0 & 0xa00c00020000L) != 0L)
+            return 15;
+         if ((active0 & 0xf4d2398e88000L) != 0L)
          {
             if (jjmatchedPos != 2)
             {
-               jjmatchedKind = 53;
+               jjmatchedKind = 54;
                jjmatchedPos = 2;
             }
             return 15;
          }
-         if ((active0 & 0x500600020000L) != 0L)
-            return 15;
          return -1;
       case 3:
-         if ((active0 & 0x7860180e88000L) != 0L)
+         if ((active0 & 0xf0c0380e88000L) != 0L)
          {
-            jjmatchedKind = 53;
+            jjmatchedKind = 54;
             jjmatchedPos = 3;
             return 15;
          }
-         if ((active0 & 0x209418000000L) != 0L)
+         if ((active0 & 0x412818000000L) != 0L)
             return 15;
          return -1;
       case 4:
-         if ((active0 & 0x3060100e00000L) != 0L)
+         if ((active0 & 0x60c0280e00000L) != 0L)
          {
-            jjmatchedKind = 53;
+            jjmatchedKind = 54;
             jjmatchedPos = 4;
             return 15;
          }
-         if ((active0 & 0x4800080088000L) != 0L)
+         if ((active0 & 0x9000100088000L) != 0L)
+            return 15;
+         return -1;
+      case 5:
+         if ((active0 & 0x60c0200e00000L) != 0L)
             return 15;
+         if ((active0 & 0x80000000L) != 0L)
+         {
+            jjmatchedKind = 54;
+            jjmatchedPos = 5;
+            return 15;
+         }
          return -1;
       default :
          return -1;
@@ -100,9 +110,9 @@ static private final int jjMoveStringLiteralDfa0_0()
       case 33:
          return jjStopAtPos(0, 18);
       case 40:
-         return jjStopAtPos(0, 37);
+         return jjStopAtPos(0, 38);
       case 41:
-         return jjStopAtPos(0, 40);
+         return jjStopAtPos(0, 41);
       case 42:
          return jjStopAtPos(0, 16);
       case 44:
@@ -113,10 +123,10 @@ static private final int jjMoveStringLiteralDfa0_0()
          jjmatchedKind = 24;
          return jjMoveStringLiteralDfa1_0(0x140L);
       case 59:
-         return jjStopAtPos(0, 43);
+         return jjStopAtPos(0, 44);
       case 60:
-         jjmatchedKind = 38;
-         return jjMoveStringLiteralDfa1_0(0x800000000L);
+         jjmatchedKind = 39;
+         return jjMoveStringLiteralDfa1_0(0x1000000000L);
       case 61:
          return jjStopAtPos(0, 26);
       case 62:
@@ -133,21 +143,21 @@ static private final int jjMoveStringLiteralDfa0_0()
       case 102:
          return jjMoveStringLiteralDfa1_0(0x10000000L);
       case 105:
-         return jjMoveStringLiteralDfa1_0(0x780000000L);
+         return jjMoveStringLiteralDfa1_0(0xf80000000L);
       case 108:
-         return jjMoveStringLiteralDfa1_0(0x1000000000L);
+         return jjMoveStringLiteralDfa1_0(0x2000000000L);
       case 111:
-         return jjMoveStringLiteralDfa1_0(0x8000000000L);
+         return jjMoveStringLiteralDfa1_0(0x10000000000L);
       case 115:
-         return jjMoveStringLiteralDfa1_0(0x760000000000L);
+         return jjMoveStringLiteralDfa1_0(0xec0000000000L);
       case 116:
-         return jjMoveStringLiteralDfa1_0(0x800000000000L);
-      case 117:
          return jjMoveStringLiteralDfa1_0(0x1000000000000L);
-      case 118:
+      case 117:
          return jjMoveStringLiteralDfa1_0(0x2000000000000L);
-      case 119:
+      case 118:
          return jjMoveStringLiteralDfa1_0(0x4000000000000L);
+      case 119:
+         return jjMoveStringLiteralDfa1_0(0x8000000000000L);
       default :
          return jjMoveNfa_0(3, 0);
    }
@@ -172,31 +182,31 @@ static private final int jjMoveStringLiteralDfa1_0(long active0)
       case 61:
          if ((active0 & 0x20000000L) != 0L)
             return jjStopAtPos(1, 29);
-         else if ((active0 & 0x800000000L) != 0L)
-            return jjStopAtPos(1, 35);
+         else if ((active0 & 0x1000000000L) != 0L)
+            return jjStopAtPos(1, 36);
          break;
       case 97:
-         return jjMoveStringLiteralDfa2_0(active0, 0x2800000000000L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x5000000000000L);
       case 98:
          return jjMoveStringLiteralDfa2_0(active0, 0x8000L);
       case 99:
-         return jjMoveStringLiteralDfa2_0(active0, 0x20000000000L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x40000000000L);
       case 101:
-         return jjMoveStringLiteralDfa2_0(active0, 0x140000800000L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x280000800000L);
       case 104:
-         return jjMoveStringLiteralDfa2_0(active0, 0x4200000000000L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x8400000000000L);
       case 108:
          return jjMoveStringLiteralDfa2_0(active0, 0x80000L);
       case 110:
-         return jjMoveStringLiteralDfa2_0(active0, 0x780020000L);
+         return jjMoveStringLiteralDfa2_0(active0, 0xf80020000L);
       case 111:
-         return jjMoveStringLiteralDfa2_0(active0, 0x1000200000L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x2000200000L);
       case 112:
-         return jjMoveStringLiteralDfa2_0(active0, 0x1008000000000L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x2010000000000L);
       case 114:
          return jjMoveStringLiteralDfa2_0(active0, 0x10400000L);
       case 116:
-         return jjMoveStringLiteralDfa2_0(active0, 0x400000000000L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x800000000000L);
       case 120:
          return jjMoveStringLiteralDfa2_0(active0, 0x8000000L);
       default :
@@ -216,38 +226,40 @@ static private final int jjMoveStringLiteralDfa2_0(long old0, long active0)
    switch(curChar)
    {
       case 97:
-         return jjMoveStringLiteralDfa3_0(active0, 0x1000000000L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x2000000000L);
       case 98:
-         return jjMoveStringLiteralDfa3_0(active0, 0x800000000000L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x1000000000000L);
+      case 99:
+         return jjMoveStringLiteralDfa3_0(active0, 0x80000000L);
       case 100:
          if ((active0 & 0x20000L) != 0L)
             return jjStartNfaWithStates_0(2, 17, 15);
-         return jjMoveStringLiteralDfa3_0(active0, 0x1000080000000L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x2000100000000L);
       case 101:
-         return jjMoveStringLiteralDfa3_0(active0, 0x4008000400000L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x8010000400000L);
       case 105:
          return jjMoveStringLiteralDfa3_0(active0, 0x8000000L);
       case 108:
-         return jjMoveStringLiteralDfa3_0(active0, 0x2040000800000L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x4080000800000L);
       case 109:
          return jjMoveStringLiteralDfa3_0(active0, 0x200000L);
       case 111:
-         return jjMoveStringLiteralDfa3_0(active0, 0x200010088000L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x400010088000L);
       case 114:
-         if ((active0 & 0x400000000000L) != 0L)
-            return jjStartNfaWithStates_0(2, 46, 15);
-         return jjMoveStringLiteralDfa3_0(active0, 0x20000000000L);
+         if ((active0 & 0x800000000000L) != 0L)
+            return jjStartNfaWithStates_0(2, 47, 15);
+         return jjMoveStringLiteralDfa3_0(active0, 0x40000000000L);
       case 115:
-         return jjMoveStringLiteralDfa3_0(active0, 0x100000000L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x200000000L);
       case 116:
-         if ((active0 & 0x200000000L) != 0L)
+         if ((active0 & 0x400000000L) != 0L)
          {
-            jjmatchedKind = 33;
+            jjmatchedKind = 34;
             jjmatchedPos = 2;
          }
-         else if ((active0 & 0x100000000000L) != 0L)
-            return jjStartNfaWithStates_0(2, 44, 15);
-         return jjMoveStringLiteralDfa3_0(active0, 0x400000000L);
+         else if ((active0 & 0x200000000000L) != 0L)
+            return jjStartNfaWithStates_0(2, 45, 15);
+         return jjMoveStringLiteralDfa3_0(active0, 0x800000000L);
       default :
          break;
    }
@@ -265,31 +277,31 @@ static private final int jjMoveStringLiteralDfa3_0(long old0, long active0)
    switch(curChar)
    {
       case 97:
-         return jjMoveStringLiteralDfa4_0(active0, 0x1000000400000L);
+         return jjMoveStringLiteralDfa4_0(active0, 0x2000000400000L);
       case 100:
-         if ((active0 & 0x1000000000L) != 0L)
-            return jjStartNfaWithStates_0(3, 36, 15);
+         if ((active0 & 0x2000000000L) != 0L)
+            return jjStartNfaWithStates_0(3, 37, 15);
          break;
       case 101:
-         return jjMoveStringLiteralDfa4_0(active0, 0x40180800000L);
+         return jjMoveStringLiteralDfa4_0(active0, 0x80300800000L);
       case 105:
-         return jjMoveStringLiteralDfa4_0(active0, 0x20000000000L);
+         return jjMoveStringLiteralDfa4_0(active0, 0x40000000000L);
       case 108:
-         return jjMoveStringLiteralDfa4_0(active0, 0x800000000000L);
+         return jjMoveStringLiteralDfa4_0(active0, 0x1000080000000L);
       case 109:
          if ((active0 & 0x10000000L) != 0L)
             return jjStartNfaWithStates_0(3, 28, 15);
          return jjMoveStringLiteralDfa4_0(active0, 0x200000L);
       case 110:
-         if ((active0 & 0x8000000000L) != 0L)
-            return jjStartNfaWithStates_0(3, 39, 15);
+         if ((active0 & 0x10000000000L) != 0L)
+            return jjStartNfaWithStates_0(3, 40, 15);
          break;
       case 111:
-         if ((active0 & 0x400000000L) != 0L)
-            return jjStartNfaWithStates_0(3, 34, 15);
+         if ((active0 & 0x800000000L) != 0L)
+            return jjStartNfaWithStates_0(3, 35, 15);
          break;
       case 114:
-         return jjMoveStringLiteralDfa4_0(active0, 0x4000000008000L);
+         return jjMoveStringLiteralDfa4_0(active0, 0x8000000008000L);
       case 115:
          return jjMoveStringLiteralDfa4_0(active0, 0x80000L);
       case 116:
@@ -297,10 +309,10 @@ static private final int jjMoveStringLiteralDfa3_0(long old0, long active0)
             return jjStartNfaWithStates_0(3, 27, 15);
          break;
       case 117:
-         return jjMoveStringLiteralDfa4_0(active0, 0x2000000000000L);
+         return jjMoveStringLiteralDfa4_0(active0, 0x4000000000000L);
       case 119:
-         if ((active0 & 0x200000000000L) != 0L)
-            return jjStartNfaWithStates_0(3, 45, 15);
+         if ((active0 & 0x400000000000L) != 0L)
+            return jjStartNfaWithStates_0(3, 46, 15);
          break;
       default :
          break;
@@ -319,28 +331,30 @@ static private final int jjMoveStringLiteralDfa4_0(long old0, long active0)
    switch(curChar)
    {
       case 99:
-         return jjMoveStringLiteralDfa5_0(active0, 0x40000000000L);
+         return jjMoveStringLiteralDfa5_0(active0, 0x80000000000L);
       case 101:
          if ((active0 & 0x80000L) != 0L)
             return jjStartNfaWithStates_0(4, 19, 15);
-         else if ((active0 & 0x800000000000L) != 0L)
-            return jjStartNfaWithStates_0(4, 47, 15);
-         else if ((active0 & 0x4000000000000L) != 0L)
-            return jjStartNfaWithStates_0(4, 50, 15);
-         return jjMoveStringLiteralDfa5_0(active0, 0x2000000000000L);
+         else if ((active0 & 0x1000000000000L) != 0L)
+            return jjStartNfaWithStates_0(4, 48, 15);
+         else if ((active0 & 0x8000000000000L) != 0L)
+            return jjStartNfaWithStates_0(4, 51, 15);
+         return jjMoveStringLiteralDfa5_0(active0, 0x4000000000000L);
       case 105:
          return jjMoveStringLiteralDfa5_0(active0, 0x200000L);
       case 112:
-         return jjMoveStringLiteralDfa5_0(active0, 0x20000000000L);
+         return jjMoveStringLiteralDfa5_0(active0, 0x40000000000L);
       case 114:
-         return jjMoveStringLiteralDfa5_0(active0, 0x100000000L);
+         return jjMoveStringLiteralDfa5_0(active0, 0x200000000L);
       case 116:
          if ((active0 & 0x8000L) != 0L)
             return jjStartNfaWithStates_0(4, 15, 15);
-         return jjMoveStringLiteralDfa5_0(active0, 0x1000000c00000L);
+         return jjMoveStringLiteralDfa5_0(active0, 0x2000000c00000L);
+      case 117:
+         return jjMoveStringLiteralDfa5_0(active0, 0x80000000L);
       case 120:
-         if ((active0 & 0x80000000L) != 0L)
-            return jjStartNfaWithStates_0(4, 31, 15);
+         if ((active0 & 0x100000000L) != 0L)
+            return jjStartNfaWithStates_0(4, 32, 15);
          break;
       default :
          break;
@@ -358,33 +372,55 @@ static private final int jjMoveStringLiteralDfa5_0(long old0, long active0)
    }
    switch(curChar)
    {
+      case 100:
+         return jjMoveStringLiteralDfa6_0(active0, 0x80000000L);
       case 101:
          if ((active0 & 0x400000L) != 0L)
             return jjStartNfaWithStates_0(5, 22, 15);
          else if ((active0 & 0x800000L) != 0L)
             return jjStartNfaWithStates_0(5, 23, 15);
-         else if ((active0 & 0x1000000000000L) != 0L)
-            return jjStartNfaWithStates_0(5, 48, 15);
+         else if ((active0 & 0x2000000000000L) != 0L)
+            return jjStartNfaWithStates_0(5, 49, 15);
          break;
       case 115:
-         if ((active0 & 0x2000000000000L) != 0L)
-            return jjStartNfaWithStates_0(5, 49, 15);
+         if ((active0 & 0x4000000000000L) != 0L)
+            return jjStartNfaWithStates_0(5, 50, 15);
          break;
       case 116:
          if ((active0 & 0x200000L) != 0L)
             return jjStartNfaWithStates_0(5, 21, 15);
-         else if ((active0 & 0x100000000L) != 0L)
-            return jjStartNfaWithStates_0(5, 32, 15);
-         else if ((active0 & 0x20000000000L) != 0L)
-            return jjStartNfaWithStates_0(5, 41, 15);
+         else if ((active0 & 0x200000000L) != 0L)
+            return jjStartNfaWithStates_0(5, 33, 15);
          else if ((active0 & 0x40000000000L) != 0L)
             return jjStartNfaWithStates_0(5, 42, 15);
+         else if ((active0 & 0x80000000000L) != 0L)
+            return jjStartNfaWithStates_0(5, 43, 15);
          break;
       default :
          break;
    }
    return jjStartNfa_0(4, active0);
 }
+static private final int jjMoveStringLiteralDfa6_0(long old0, long active0)
+{
+   if (((active0 &= old0)) == 0L)
+      return jjStartNfa_0(4, old0); 
+   try { curChar = input_stream.readChar(); }
+   catch(java.io.IOException e) {
+      jjStopStringLiteralDfa_0(5, active0);
+      return 6;
+   }
+   switch(curChar)
+   {
+      case 101:
+         if ((active0 & 0x80000000L) != 0L)
+            return jjStartNfaWithStates_0(6, 31, 15);
+         break;
+      default :
+         break;
+   }
+   return jjStartNfa_0(5, active0);
+}
 static private final void jjCheckNAdd(int state)
 {
    if (jjrounds[state] != jjround)
@@ -440,14 +476,14 @@ static private final int jjMoveNfa_0(int startState, int curPos)
                case 3:
                   if ((0x3ff000000000000L & l) != 0L)
                   {
-                     if (kind > 52)
-                        kind = 52;
+                     if (kind > 53)
+                        kind = 53;
                      jjCheckNAdd(13);
                   }
                   else if (curChar == 36)
                   {
-                     if (kind > 53)
-                        kind = 53;
+                     if (kind > 54)
+                        kind = 54;
                      jjCheckNAdd(15);
                   }
                   else if (curChar == 34)
@@ -480,8 +516,8 @@ static private final int jjMoveNfa_0(int startState, int curPos)
                      jjCheckNAddStates(0, 2);
                   break;
                case 8:
-                  if (curChar == 34 && kind > 51)
-                     kind = 51;
+                  if (curChar == 34 && kind > 52)
+                     kind = 52;
                   break;
                case 9:
                   if ((0xff000000000000L & l) != 0L)
@@ -502,22 +538,22 @@ static private final int jjMoveNfa_0(int startState, int curPos)
                case 13:
                   if ((0x3ff000000000000L & l) == 0L)
                      break;
-                  if (kind > 52)
-                     kind = 52;
+                  if (kind > 53)
+                     kind = 53;
                   jjCheckNAdd(13);
                   break;
                case 14:
                   if (curChar != 36)
                      break;
-                  if (kind > 53)
-                     kind = 53;
+                  if (kind > 54)
+                     kind = 54;
                   jjCheckNAdd(15);
                   break;
                case 15:
                   if ((0x3ff001000000000L & l) == 0L)
                      break;
-                  if (kind > 53)
-                     kind = 53;
+                  if (kind > 54)
+                     kind = 54;
                   jjCheckNAdd(15);
                   break;
                default : break;
@@ -535,8 +571,8 @@ static private final int jjMoveNfa_0(int startState, int curPos)
                case 15:
                   if ((0x7fffffe87fffffeL & l) == 0L)
                      break;
-                  if (kind > 53)
-                     kind = 53;
+                  if (kind > 54)
+                     kind = 54;
                   jjCheckNAdd(15);
                   break;
                case 1:
@@ -744,11 +780,11 @@ public static final String[] jjstrLiteralImages = {
 null, null, "\141\142\157\162\164", "\52", "\141\156\144", "\41", 
 "\143\154\157\163\145", "\54", "\143\157\155\155\151\164", "\143\162\145\141\164\145", 
 "\144\145\154\145\164\145", "\57", "\56", "\75", "\145\170\151\164", "\146\162\157\155", "\76\75", "\76", 
-"\151\156\144\145\170", "\151\156\163\145\162\164", "\151\156\164", "\151\156\164\157", "\74\75", 
-"\154\157\141\144", "\50", "\74", "\157\160\145\156", "\51", "\163\143\162\151\160\164", 
-"\163\145\154\145\143\164", "\73", "\163\145\164", "\163\150\157\167", "\163\164\162", 
-"\164\141\142\154\145", "\165\160\144\141\164\145", "\166\141\154\165\145\163", 
-"\167\150\145\162\145", null, null, null, null, };
+"\151\156\143\154\165\144\145", "\151\156\144\145\170", "\151\156\163\145\162\164", "\151\156\164", 
+"\151\156\164\157", "\74\75", "\154\157\141\144", "\50", "\74", "\157\160\145\156", "\51", 
+"\163\143\162\151\160\164", "\163\145\154\145\143\164", "\73", "\163\145\164", "\163\150\157\167", 
+"\163\164\162", "\164\141\142\154\145", "\165\160\144\141\164\145", 
+"\166\141\154\165\145\163", "\167\150\145\162\145", null, null, null, null, };
 public static final String[] lexStateNames = {
    "DEFAULT", 
    "IN_SINGLE_LINE_COMMENT", 
@@ -758,10 +794,10 @@ public static final String[] lexStateNames = {
 public static final int[] jjnewLexState = {
    -1, -1, -1, -1, -1, -1, 1, 2, 3, 0, 0, 0, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 
    -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 
-   -1, -1, -1, -1, -1, 
+   -1, -1, -1, -1, -1, -1, 
 };
 static final long[] jjtoToken = {
-   0x7fffffffff8001L, 
+   0xffffffffff8001L, 
 };
 static final long[] jjtoSkip = {
    0xe3eL, 
@@ -867,9 +903,9 @@ public static Token getNextToken()
          jjmatchedKind = 0x7fffffff;
          jjmatchedPos = 0;
          curPos = jjMoveStringLiteralDfa0_0();
-         if (jjmatchedPos == 0 && jjmatchedKind > 54)
+         if (jjmatchedPos == 0 && jjmatchedKind > 55)
          {
-            jjmatchedKind = 54;
+            jjmatchedKind = 55;
          }
          break;
        case 1:
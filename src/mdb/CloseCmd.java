@@ -8,7 +8,6 @@ import static mdb.Main.isOpen;
 import static mdb.Main.tableCount;
 import static mdb.Main.tableIndex;
 import static mdb.Main.txn;
-import static mdb.Main.envmnt;
 import static mdb.Main.store;
 import static mdb.Main.unCommittedIndex;
 import static mdb.Main.unCommittedTable;
@@ -25,10 +24,7 @@ import java.io.OutputStream;
 
 import com.sleepycat.je.DatabaseException;
 import com.sleepycat.je.Environment;
-import com.sleepycat.je.EnvironmentConfig;
-import com.sleepycat.je.Transaction;
 import com.sleepycat.persist.EntityStore;
-import com.sleepycat.persist.StoreConfig;
 
 public class CloseCmd extends Close {
 
@@ -52,50 +48,11 @@ public class CloseCmd extends Close {
         //super.execute();
     	isOpen = 0;
 
-    	for(Transaction x : txn){
-    		x.abort();
-    	
-    	}
-    	//System.out.println(tableCount);
-    	
-    	for(int i=0; i< tableCount; ++i){
-    		String tableName = catalog.TableName.get(i);
-    		/*for(int j=0; j<catalog.ColInfo.get(tableName).size(); ++j){
-    			catalog.indexTxn.get(tableName).get(j).abort();
-    		}*/
-    		for(Transaction s : catalog.indexTxn.get(tableName)){
-				s.abort();	
-		}
-    	}
-    	
-    	
-    	
-    	
-    	/*
-    	for(int i=0; i< tableCount; ++i){
-    		String tableName = catalog.TableName.get(i);
-    		for(int j=0; j<catalog.ColInfo.get(tableName).size(); ++j){
-    			catalog.indexTxn.get(tableName).clear();
-    		}
-    	}*/
-    	
-    	txn.clear();
+    	txn.abort();
+    	txn = null;
     	
     	for(int i=0;i<unCommittedTable.size();++i){
-    		catalog.ColField.remove(unCommittedTable.get(i));
-    		catalog.ColInfo.remove(unCommittedTable.get(i));
-    		catalog.indexEnv.remove(unCommittedTable.get(i));
-    		catalog.indexHome.remove(unCommittedTable.get(i));
-    		catalog.indexStore.remove(unCommittedTable.get(i));
-    		catalog.indexTxn.remove(unCommittedTable.get(i));
-    		catalog.isIndexed.remove(unCommittedTable.get(i));
-    		catalog.TableName.remove(unCommittedTable.get(i));
-    		
-    		File dir = new File("./DataBase/"+dbName+"/db/"+unCommittedTable.get(i));
-    		deleteDir(dir);
-    		File dir2 = new File("./DataBase/"+dbName+"/dbIndex/"+unCommittedTable.get(i));
-    		deleteDir(dir2);
-    		tableCount--;
+    		EnvManager.dropTable(unCommittedTable.get(i));
     	}
     	
     	
@@ -105,7 +62,7 @@ public class CloseCmd extends Close {
     		
     		if(catalog.ColInfo.get(tableName)!=null){
     		int index = catalog.ColInfo.get(tableName).indexOf(colName);
-    		catalog.isIndexed.get(tableName).set(index, false);
+    		EnvManager.dropIndex(tableName, index);
     		}
     	}
     	unCommittedTable.clear();
@@ -123,31 +80,14 @@ public class CloseCmd extends Close {
         		
         	}
     	
-    	for(int i=0;i<envmnt.size();++i){
-    	try{
-    		if(envmnt.get(i)!=null){
-    			//envmnt.get(i).cleanLog();
-    			envmnt.get(i).close();
-    		}
-    	}catch(DatabaseException dbe) {
-    		System.err.println("Error closing environment" +
-    				dbe.toString());
-    				}
-    		
-    	}
-    	
     	for(int i=0;i<tableCount;++i){
-    		for(int j=0;j<catalog.indexStore.get(catalog.TableName.get(i)).size();++j){
-    			catalog.indexStore.get(catalog.TableName.get(i)).get(j).close();
+    		for(IndexTupleDA s : catalog.indexDA.get(catalog.TableName.get(i))){
+    			if(s!=null)
+    				s.close();
     		}
     	}
     	
-    	for(int i=0;i<tableCount;++i){
-    		for(int j=0;j<catalog.indexEnv.get(catalog.TableName.get(i)).size();++j){
-    			//catalog.indexEnv.get(catalog.TableName.get(i)).get(j).cleanLog();
-    			catalog.indexEnv.get(catalog.TableName.get(i)).get(j).close();
-    		}
-    	}
+    	EnvManager.close();
     	
     
     	
@@ -170,6 +110,8 @@ public class CloseCmd extends Close {
 	   	temp.setColField(catalog.ColField);
 	   	temp.setColInfo(catalog.ColInfo);
 	   	temp.SetIsIndexed(catalog.isIndexed);
+	   	temp.setIndexKeys(catalog.indexKeys);
+	   	temp.setIndexInclude(catalog.indexInclude);
 	   	temp.setTableName(catalog.TableName);
 	   	
 	   	
@@ -202,12 +144,10 @@ public class CloseCmd extends Close {
    	   	   
    	   	   	
    	   	   	
-   	   envmnt.clear();
    	   store.clear();
    	   catalog = new TableCatalog();
    	   tableCount=0;
    	   tableIndex.clear();
-   	   txn.clear();
    	   	 
    	   	   	
  
@@ -7,12 +7,8 @@ import Jakarta.util.*;
 import java.io.*;
 import java.util.*;
 
-import com.sleepycat.je.Transaction;
-
-import static mdb.Main.catalog;
 import static mdb.Main.envmnt;
 import static mdb.Main.isOpen;
-import static mdb.Main.tableCount;
 import static mdb.Main.txn;
 import static mdb.Main.unCommittedTable;
 import static mdb.Main.unCommittedIndex;
@@ -34,46 +30,12 @@ public class CommitCmd extends Commit {
     public void execute2 () {
         
         //super.execute();   	
-    	for(Transaction x : txn){
-    		x.commit();
-    	}
-    	
-    	for(int i=0; i< tableCount; ++i){
-    		String tableName = catalog.TableName.get(i);
-    		for(int j=0; j<catalog.ColInfo.get(tableName).size(); ++j){
-    			if(catalog.isIndexed.get(tableName).get(j).equals(true)){
-    				catalog.indexTxn.get(tableName).get(j).commit();
-    			}
-    		}
-    	}
-    	/*
-    	
-    	for(int i=0; i< tableCount; ++i){
-    		String tableName = catalog.TableName.get(i);
-    		for(int j=0; j<catalog.ColInfo.get(tableName).size(); ++j){
-    			catalog.indexTxn.get(tableName).clear();
-    		}
-    	}*/
-    	
-    	txn.clear();
-    
-    	
-
-
-    	
-    	for(int i = 0; i< tableCount; ++i){
-    		txn.add(i, envmnt.get(i).beginTransaction(null, null));
-    	
-    	}
-    	
-    	for(int i=0; i< tableCount; ++i){
-    		String tableName = catalog.TableName.get(i);
-    		for(int j=0; j<catalog.ColInfo.get(tableName).size(); ++j){
-    			//??????????why?????????
-    			catalog.indexTxn.get(tableName).add(j,catalog.indexEnv.get(tableName).get(j).beginTransaction(null, null));
-    		
-    		}
-    	}
+    	//an index created in the transaction is complete when it commits
+    	OnlineIndex.finishAll();
+    	//one transaction spans every table and index store, so this is a
+    	//single log flush and the commit is atomic across tables
+    	txn.commit();
+    	txn = envmnt.beginTransaction(null, null);
     	
     	
     	
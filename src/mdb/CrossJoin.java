@@ -0,0 +1,70 @@
+package mdb;
+
+import java.util.ArrayList;
+
+//every row of the left input paired with every row of the right one, for
+//tables the WHERE clause does not join. The right input is read on open().
+public class CrossJoin extends RowSource {
+	private final RowSource left;
+	private final RowSource right;
+	private ArrayList<Record> rows;
+	private Record cur;
+	private int m;
+
+	public CrossJoin(RowSource left, RowSource right){
+		this.left = left;
+		this.right = right;
+		int n = left.width() + right.width();
+		tables = new String[n];
+		columns = new String[n];
+		types = new String[n];
+		for(int i=0;i<left.width();++i){
+			tables[i] = left.tables[i];
+			columns[i] = left.columns[i];
+			types[i] = left.types[i];
+		}
+		for(int i=0;i<right.width();++i){
+			tables[left.width()+i] = right.tables[i];
+			columns[left.width()+i] = right.columns[i];
+			types[left.width()+i] = right.types[i];
+		}
+	}
+
+	public void open(){
+		rows = new ArrayList<Record>();
+		right.open();
+		try{
+			for(Record r = right.next(); r != null; r = right.next()){
+				rows.add(r);
+			}
+		}finally{
+			right.close();
+		}
+		left.open();
+		cur = null;
+		m = 0;
+	}
+
+	public Record next(){
+		if(rows.isEmpty())
+			return null;
+		if(cur == null || m == rows.size()){
+			cur = left.next();
+			if(cur == null)
+				return null;
+			m = 0;
+		}
+		return new JoinedRecord(cur, rows.get(m++), -1);
+	}
+
+	public long estimate(){
+		return left.estimate() * right.estimate();
+	}
+
+	public void close(){
+		left.close();
+		right.close();
+		rows = null;
+	}
+
+}
@@ -0,0 +1,59 @@
+package mdb;
+
+import static mdb.Main.catalog;
+
+import com.sleepycat.bind.EntityBinding;
+import com.sleepycat.je.DatabaseEntry;
+import com.sleepycat.je.DiskOrderedCursor;
+import com.sleepycat.je.DiskOrderedCursorConfig;
+import com.sleepycat.je.LockMode;
+import com.sleepycat.je.OperationStatus;
+import com.sleepycat.persist.PrimaryIndex;
+
+//every row of a table that passes its WHERE clauses, read in log file order
+//rather than key order (-d). JE's producer thread walks the table's log
+//records with large sequential reads and queues them; entries are decoded
+//into Tuples with the primary index's entity binding. A cold table is read
+//without a random seek per leaf node. Like a read uncommitted cursor it sees
+//the session's uncommitted rows, and rows come out in no particular order.
+public class DiskOrderedScan extends RowSource {
+	private final String tableName;
+	private final Predicate where;
+	private DiskOrderedCursor cursor;
+	private EntityBinding<Tuple> binding;
+	private final DatabaseEntry key = new DatabaseEntry();
+	private final DatabaseEntry data = new DatabaseEntry();
+
+	public DiskOrderedScan(String tableName, Predicate where){
+		this.tableName = tableName;
+		this.where = where;
+		tableSchema(tableName);
+	}
+
+	public void open(){
+		PrimaryIndex<Long,Tuple> pIdx = catalog.GetTupleDA(tableName).pIdx;
+		binding = pIdx.getEntityBinding();
+		cursor = pIdx.getDatabase().openCursor(new DiskOrderedCursorConfig());
+	}
+
+	public Record next(){
+		while(cursor.getNext(key, data, LockMode.READ_UNCOMMITTED) == OperationStatus.SUCCESS){
+			Row r = binding.entryToObject(key, data).getRow();
+			if(where.eval(r))
+				return r;
+		}
+		return null;
+	}
+
+	public long estimate(){
+		return (long) Math.ceil(catalog.GetRowEstimate(tableName) * where.selectivity());
+	}
+
+	public void close(){
+		if(cursor != null){
+			cursor.close();
+			cursor = null;
+		}
+	}
+
+}
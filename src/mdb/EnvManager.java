@@ -0,0 +1,290 @@
+package mdb;
+
+import static mdb.Main.catalog;
+import static mdb.Main.envmnt;
+import static mdb.Main.store;
+import static mdb.Main.tableCount;
+import static mdb.Main.tableIndex;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.sleepycat.je.CursorConfig;
+import com.sleepycat.je.DatabaseException;
+import com.sleepycat.je.Durability;
+import com.sleepycat.je.Environment;
+import com.sleepycat.je.EnvironmentConfig;
+import com.sleepycat.je.SequenceConfig;
+import com.sleepycat.je.Transaction;
+import com.sleepycat.je.TransactionConfig;
+import com.sleepycat.persist.EntityCursor;
+import com.sleepycat.persist.EntityStore;
+import com.sleepycat.persist.PrimaryIndex;
+import com.sleepycat.persist.StoreConfig;
+import com.sleepycat.persist.raw.RawObject;
+import com.sleepycat.persist.raw.RawStore;
+
+//one JE Environment per MDB database. Every table is a named EntityStore
+//and every column index a named database inside it, so they share one cache,
+//one log and one set of cleaner/checkpointer/evictor threads.
+public class EnvManager {
+
+	//prefix the DPL puts in front of every database name of a store
+	private static final String STORE_PREFIX = "persist#";
+	private static final int ROW_ID_CACHE_SIZE = 1000;
+	//entries per bulk transaction when an index is built from its table
+	static final int BUILD_BATCH = 10000;
+
+	public static Environment open(String dbName){
+		File envHome = new File("./DataBase/"+dbName+"/env");
+		if(!envHome.exists())
+			envHome.mkdirs();
+
+		EnvironmentConfig envConfig = new EnvironmentConfig();
+		envConfig.setAllowCreate(true);
+		envConfig.setTransactional(true);
+		//envConfig.setTxnTimeout(10000, TimeUnit.MILLISECONDS);
+		//envConfig.setLockTimeout(10000, TimeUnit.MILLISECONDS);
+		envmnt = new Environment(envHome, envConfig);
+		return envmnt;
+	}
+
+	public static EntityStore openStore(String storeName){
+		StoreConfig storeConfig = new StoreConfig();
+		storeConfig.setAllowCreate(true);
+		storeConfig.setTransactional(true);
+		return new EntityStore(envmnt, storeName, storeConfig);
+	}
+
+	//table stores hand out row ids from a sequence; a larger cached range
+	//means fewer sequence updates on insert-heavy tables
+	public static EntityStore openTableStore(String tableName){
+		EntityStore s = openStore(tableName);
+		SequenceConfig seqConfig = s.getSequenceConfig(Tuple.ROW_ID_SEQUENCE);
+		seqConfig.setCacheSize(ROW_ID_CACHE_SIZE);
+		s.setSequenceConfig(Tuple.ROW_ID_SEQUENCE, seqConfig);
+		return s;
+	}
+
+	//open the index of a column and register it in the catalog. An index
+	//written as a DPL store by an older version is dropped and rebuilt from
+	//the table.
+	public static void openIndex(String tableName, int pos){
+		String name = indexStoreName(tableName, catalog.ColInfo.get(tableName).get(pos));
+		List<String> names = envmnt.getDatabaseNames();
+		boolean rebuild = false;
+		if(!names.contains(name)){
+			for(String n : names){
+				if(n.startsWith(STORE_PREFIX + name + "#"))
+					rebuild = true;
+			}
+		}
+		if(rebuild)
+			removeStore(null, name);
+		catalog.SetIndexStore(tableName, pos, new IndexTupleDA(name, tableName, pos));
+		if(rebuild)
+			buildIndex(tableName, pos);
+	}
+
+	//fill an empty index from its table: the entries are sorted with an
+	//IndexBuilder and put in key order in bulk transactions of their own.
+	//The table is read uncommitted, so rows the session has written but not
+	//committed are indexed too; an index created in the session is dropped
+	//again if the session aborts, or on the next open if it ends without a
+	//close, see dropUnlistedIndex.
+	public static void buildIndex(String tableName, int pos){
+		IndexBuilder b = new IndexBuilder(tableName, pos);
+		CursorConfig config = new CursorConfig();
+		config.setReadUncommitted(true);
+		EntityCursor<Tuple> c = catalog.GetTupleDA(tableName).pIdx.entities(null, config);
+		try{
+			for(Tuple t : c){
+				b.add(t.getRow(), t.getPKey());
+			}
+		}finally{
+			c.close();
+		}
+		b.write(BUILD_BATCH);
+		envmnt.flushLog(true);
+	}
+
+	//directory of a table written before tables shared one environment
+	private static File oldTableHome(String dbName, String tableName){
+		return new File("./DataBase/"+dbName+"/db", tableName);
+	}
+
+	//copy a table of the old layout, an environment of its own under
+	//DataBase/<db>/db/<table>, into its store in the shared environment.
+	//Its Tuples had String keys and the values as a list of literals, so they
+	//are read through the raw DPL API and encoded like an insert would. The
+	//old directory is renamed to <table>.migrated so it is copied only once;
+	//the caller rebuilds the table's indexes. Returns whether there was
+	//anything to migrate.
+	public static boolean migrateOldTable(String dbName, String tableName){
+		File home = oldTableHome(dbName, tableName);
+		if(!home.isDirectory())
+			return false;
+		List<String> colField = catalog.ColField.get(tableName);
+		PrimaryIndex<Long,Tuple> pi = catalog.GetTupleDA(tableName).pIdx;
+
+		EnvironmentConfig envConfig = new EnvironmentConfig();
+		envConfig.setReadOnly(true);
+		envConfig.setTransactional(true);
+		StoreConfig storeConfig = new StoreConfig();
+		storeConfig.setReadOnly(true);
+		storeConfig.setTransactional(true);
+		Environment old = new Environment(home, envConfig);
+		long count = 0;
+		Transaction t = null;
+		try{
+			RawStore rs = new RawStore(old, tableName, storeConfig);
+			try{
+				EntityCursor<RawObject> c = rs.getPrimaryIndex(Tuple.class.getName()).entities();
+				try{
+					for(RawObject o : c){
+						//singleTuple is an ArrayList, stored through its proxy
+						RawObject list = (RawObject) o.getValues().get("singleTuple");
+						RawObject elements = (RawObject) list.getSuper().getValues().get("elements");
+						ArrayList<String> val = new ArrayList<String>();
+						for(Object v : elements.getElements()){
+							val.add((String) v);
+						}
+						Row row;
+						try{
+							row = Row.encode(val, colField);
+						}catch(NumberFormatException e){
+							//the old insert did not check int values
+							System.out.println("Skipped row " + val + " of " + tableName + ": wrong value for int column!");
+							continue;
+						}
+						if(count % BUILD_BATCH == 0){
+							if(t != null)
+								t.commit();
+							t = beginBulk();
+						}
+						Tuple tuple = new Tuple();
+						tuple.setRow(row);
+						tuple.setTableName(tableName);
+						pi.putNoReturn(t, tuple);
+						count++;
+					}
+				}finally{
+					c.close();
+				}
+				if(t != null)
+					t.commit();
+				t = null;
+			}finally{
+				if(t != null)
+					t.abort();
+				rs.close();
+			}
+		}finally{
+			old.close();
+		}
+		envmnt.flushLog(true);
+		if(!home.renameTo(new File(home.getParentFile(), tableName + ".migrated")))
+			System.out.println("Could not rename " + home + " after migrating it!");
+		System.out.println(count + " row migrated to table " + tableName);
+		return true;
+	}
+
+	//close the store and drop every database that belongs to it
+	public static void removeStore(EntityStore s, String storeName){
+		if(s != null){
+			try{
+				s.close();
+			}catch(DatabaseException dbe) {
+				System.err.println("Error closing store" + dbe.toString());
+			}
+		}
+		String prefix = STORE_PREFIX + storeName + "#";
+		List<String> names = envmnt.getDatabaseNames();
+		for(String name : names){
+			if(name.startsWith(prefix))
+				envmnt.removeDatabase(null, name);
+		}
+	}
+
+	//drop an index whose creation was not committed. The session transaction
+	//must already be finished.
+	public static void dropIndex(String tableName, int pos){
+		OnlineIndex.cancel(tableName, pos);
+		String colName = catalog.ColInfo.get(tableName).get(pos);
+		IndexTupleDA ida = catalog.GetIndexDA(tableName, pos);
+		if(ida != null)
+			ida.close();
+		if(envmnt.getDatabaseNames().contains(indexStoreName(tableName, colName)))
+			envmnt.removeDatabase(null, indexStoreName(tableName, colName));
+		catalog.SetIndexStore(tableName, pos, null);
+		catalog.SetIndexCols(tableName, pos, null, null);
+		catalog.isIndexed.get(tableName).set(pos, false);
+	}
+
+	//drop what is left of an index the start file does not list. The start
+	//file is only written by close, so this is an index created in a session
+	//that crashed: its entries were committed by bulk transactions and may
+	//point at rows the session never committed.
+	public static void dropUnlistedIndex(String tableName, int pos){
+		String name = indexStoreName(tableName, catalog.ColInfo.get(tableName).get(pos));
+		if(envmnt.getDatabaseNames().contains(name))
+			envmnt.removeDatabase(null, name);
+		//written as a DPL store by an older version
+		removeStore(null, name);
+	}
+
+	//drop a table whose creation was not committed, together with its
+	//indexes. The session transaction must already be finished.
+	public static void dropTable(String tableName){
+		for(int j=0;j<catalog.ColInfo.get(tableName).size();++j){
+			if(catalog.isIndexed.get(tableName).get(j).equals(true) || OnlineIndex.isBuilding(tableName, j))
+				dropIndex(tableName, j);
+		}
+		int pos = tableIndex.get(tableName);
+		removeStore(store.get(pos), tableName);
+		store.remove(pos);
+
+		catalog.ColField.remove(tableName);
+		catalog.ColInfo.remove(tableName);
+		catalog.indexDA.remove(tableName);
+		catalog.tupleDA.remove(tableName);
+		catalog.RowsChanged(tableName);
+		catalog.isIndexed.remove(tableName);
+		catalog.indexKeys.remove(tableName);
+		catalog.indexInclude.remove(tableName);
+		catalog.TableName.remove(tableName);
+		tableCount--;
+
+		//stores are kept in catalog order, so positions shift down
+		tableIndex.clear();
+		for(int i=0;i<catalog.TableName.size();++i){
+			tableIndex.put(catalog.TableName.get(i), i);
+		}
+	}
+
+	//a transaction of a bulk write, separate from the session transaction.
+	//Its commit does not wait for the disk; one flushLog(true) after the
+	//last batch makes the whole load durable.
+	public static Transaction beginBulk(){
+		TransactionConfig config = new TransactionConfig();
+		config.setDurability(Durability.COMMIT_NO_SYNC);
+		return envmnt.beginTransaction(null, config);
+	}
+
+	public static String indexStoreName(String tableName, String colName){
+		return tableName + ".idx." + colName;
+	}
+
+	public static void close(){
+		if(envmnt == null)
+			return;
+		try{
+			envmnt.close();
+		}catch(DatabaseException dbe) {
+			System.err.println("Error closing environment" + dbe.toString());
+		}
+		envmnt = null;
+	}
+
+}
@@ -0,0 +1,30 @@
+// Automatically generated code.  Edit at your own risk!
+// Generated by bali2jak v2002.09.03.
+
+package mdb;
+
+public class Field_listElem extends AstListNode {
+
+    public AstToken getCOMMA () {
+        return (AstToken) tok [0] ;
+    }
+
+    public Field_name getField_name () {
+        
+        return (Field_name) arg [0] ;
+    }
+
+    public Field_listElem setParms (AstToken tok0, Field_name arg0) {
+        
+        tok = new AstToken [1] ;
+        tok [0] = tok0 ;            /* COMMA */
+        return setParms (arg0) ;    /* Field_name */
+    }
+
+    public Field_listElem setParms (Field_name arg0) {
+        
+        super.setParms (arg0) ;     /* Field_name */
+        return (Field_listElem) this ;
+    }
+
+}
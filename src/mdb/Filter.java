@@ -0,0 +1,36 @@
+package mdb;
+
+//rows of the input that pass a predicate
+public class Filter extends RowSource {
+	private final RowSource in;
+	private final Predicate pred;
+
+	public Filter(RowSource in, Predicate pred){
+		this.in = in;
+		this.pred = pred;
+		tables = in.tables;
+		columns = in.columns;
+		types = in.types;
+	}
+
+	public void open(){
+		in.open();
+	}
+
+	public Record next(){
+		for(Record r = in.next(); r != null; r = in.next()){
+			if(pred.eval(r))
+				return r;
+		}
+		return null;
+	}
+
+	public long estimate(){
+		return (long) Math.ceil(in.estimate() * pred.selectivity());
+	}
+
+	public void close(){
+		in.close();
+	}
+
+}
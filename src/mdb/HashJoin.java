@@ -0,0 +1,318 @@
+package mdb;
+
+import static mdb.Main.joinMemory;
+import static mdb.Main.parallelism;
+import static mdb.Main.workers;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+//equi-join of two inputs. The build input is read into a hash table on
+//open(), the probe input is then streamed and every probe row is joined with
+//the build rows of the same key (see JoinTable). If the build input outgrows
+//joinMemory both inputs are partitioned to disk and joined partition by
+//partition. Output rows are JoinedRecord views of a probe and a build row:
+//the probe columns followed by the build columns without the build join
+//column.
+//With -p above 1 the key space is cut into parallelism slices. The inputs
+//are still read by the calling thread, but every slice's table is built and
+//probed by its own fork/join task, a batch of probe rows at a time. Row
+//order then differs from a serial join, the rows do not.
+public class HashJoin extends RowSource {
+	//object, offset array and JoinTable slot overhead of a build row
+	private static final int ROW_OVERHEAD = 64;
+	private static final int MAX_PARTS = 256;
+	//probe rows read per parallel batch
+	private static final int BATCH = 16384;
+
+	private final RowSource probe;
+	private final int probeCol;
+	private final RowSource build;
+	private final int buildCol;
+	//int keys when both join columns are int, printed text otherwise
+	private final boolean intKey;
+	private JoinTable table;
+	//parallel mode: build rows of each slice while the build input is read,
+	//then the table of each slice; null when serial or spilled
+	private ArrayList<ArrayList<Row>> slices;
+	private JoinTable[] sliceTables;
+	//joined rows of the current parallel batch
+	private ArrayList<Record> batch;
+	private int b;
+	//partitions of both inputs once the build side has spilled, else null
+	private SpillStore[] buildParts;
+	private SpillStore[] probeParts;
+	//partition being joined
+	private int part;
+	private Record cur;
+	//next build row matching cur, -1 for none
+	private int match;
+
+	public HashJoin(RowSource probe, int probeCol, RowSource build, int buildCol){
+		this.probe = probe;
+		this.probeCol = probeCol;
+		this.build = build;
+		this.buildCol = buildCol;
+		this.intKey = probe.types[probeCol].equals("int") && build.types[buildCol].equals("int");
+		int n = probe.width() + build.width() - 1;
+		tables = new String[n];
+		columns = new String[n];
+		types = new String[n];
+		int k = 0;
+		for(int i=0;i<probe.width();++i,++k){
+			tables[k] = probe.tables[i];
+			columns[k] = probe.columns[i];
+			types[k] = probe.types[i];
+		}
+		for(int i=0;i<build.width();++i){
+			if(i == buildCol)
+				continue;
+			tables[k] = build.tables[i];
+			columns[k] = build.columns[i];
+			types[k] = build.types[i];
+			++k;
+		}
+	}
+
+	//heap held by a build row in the hash table, roughly
+	private static long footprint(Row r){
+		return r.getBytes().length + ROW_OVERHEAD;
+	}
+
+	//partition (or slice) out of n of a key, independent of its JoinTable slot
+	private int partition(Record r, int col, int n){
+		int h = JoinTable.hash(r, col, intKey) * 0x85EBCA6B;
+		return ((h ^ (h >>> 16)) & 0x7fffffff) % n;
+	}
+
+	public void open(){
+		table = null;
+		slices = null;
+		sliceTables = null;
+		buildParts = null;
+		if(parallelism > 1){
+			slices = new ArrayList<ArrayList<Row>>();
+			for(int i=0;i<parallelism;++i){
+				slices.add(new ArrayList<Row>());
+			}
+		}
+		else
+			table = new JoinTable(intKey, buildCol);
+		long used = 0;
+		long rows = 0;
+		build.open();
+		try{
+			for(Record r = build.next(); r != null; r = build.next()){
+				Row row = Row.of(r);
+				if(buildParts != null){
+					buildParts[partition(row, buildCol, buildParts.length)].add(row);
+					continue;
+				}
+				if(slices != null)
+					slices.get(partition(row, buildCol, slices.size())).add(row);
+				else
+					table.add(row);
+				used += footprint(row);
+				rows++;
+				if(used > joinMemory)
+					spill(used, rows);
+			}
+		}finally{
+			build.close();
+		}
+		if(slices != null)
+			buildSlices();
+		probe.open();
+		if(buildParts != null){
+			//the probe input is partitioned the same way before any join
+			try{
+				for(Record r = probe.next(); r != null; r = probe.next()){
+					probeParts[partition(r, probeCol, probeParts.length)].add(Row.of(r));
+				}
+			}finally{
+				probe.close();
+			}
+			part = -1;
+			table = null;
+		}
+		match = -1;
+		batch = null;
+	}
+
+	//the build input does not fit joinMemory: switch to a grace hash join.
+	//Both inputs are split by key into partitions small enough to be joined
+	//one at a time, sized from the build estimate and the bytes per row seen
+	//so far. A partition that still turns out too large is joined anyway.
+	private void spill(long used, long rows){
+		long total = Math.max(build.estimate(), rows) * (used / rows);
+		int n = (int) Math.min(MAX_PARTS, Math.max(2, total * 2 / joinMemory + 1));
+		buildParts = new SpillStore[n];
+		probeParts = new SpillStore[n];
+		for(int i=0;i<n;++i){
+			buildParts[i] = new SpillStore();
+			probeParts[i] = new SpillStore();
+		}
+		if(table != null){
+			for(int i=0;i<table.size();++i){
+				buildParts[partition(table.row(i), buildCol, n)].add((Row) table.row(i));
+			}
+		}
+		else{
+			//partitions are joined one at a time, serially
+			for(ArrayList<Row> s : slices){
+				for(Row r : s){
+					buildParts[partition(r, buildCol, n)].add(r);
+				}
+			}
+		}
+		table = null;
+		slices = null;
+	}
+
+	//build the table of every slice, one task each
+	private void buildSlices(){
+		ForkJoinPool pool = workers();
+		ArrayList<ForkJoinTask<JoinTable>> tasks = new ArrayList<ForkJoinTask<JoinTable>>();
+		for(final ArrayList<Row> s : slices){
+			tasks.add(pool.submit(new RecursiveTask<JoinTable>(){
+				protected JoinTable compute(){
+					JoinTable t = new JoinTable(intKey, buildCol);
+					for(Row r : s){
+						t.add(r);
+					}
+					return t;
+				}
+			}));
+		}
+		sliceTables = new JoinTable[tasks.size()];
+		for(int i=0;i<sliceTables.length;++i){
+			sliceTables[i] = tasks.get(i).join();
+		}
+		slices = null;
+	}
+
+	//read up to BATCH probe rows and join them, every slice probed by its
+	//own task; false once the probe input is exhausted
+	private boolean nextBatch(){
+		int n = sliceTables.length;
+		ArrayList<ArrayList<Record>> in = new ArrayList<ArrayList<Record>>();
+		for(int i=0;i<n;++i){
+			in.add(new ArrayList<Record>());
+		}
+		int rows = 0;
+		while(rows < BATCH){
+			Record r = probe.next();
+			if(r == null)
+				break;
+			in.get(partition(r, probeCol, n)).add(r);
+			rows++;
+		}
+		if(rows == 0)
+			return false;
+		ForkJoinPool pool = workers();
+		ArrayList<ForkJoinTask<ArrayList<Record>>> tasks = new ArrayList<ForkJoinTask<ArrayList<Record>>>();
+		for(int i=0;i<n;++i){
+			if(in.get(i).isEmpty())
+				continue;
+			final JoinTable t = sliceTables[i];
+			final ArrayList<Record> probeRows = in.get(i);
+			tasks.add(pool.submit(new RecursiveTask<ArrayList<Record>>(){
+				protected ArrayList<Record> compute(){
+					ArrayList<Record> res = new ArrayList<Record>();
+					for(Record r : probeRows){
+						for(int m = t.find(r, probeCol); m != -1; m = t.next(m)){
+							res.add(new JoinedRecord(r, t.row(m), buildCol));
+						}
+					}
+					return res;
+				}
+			}));
+		}
+		batch = new ArrayList<Record>();
+		for(ForkJoinTask<ArrayList<Record>> task : tasks){
+			batch.addAll(task.join());
+		}
+		b = 0;
+		return true;
+	}
+
+	//load the build side of the next partition, false after the last one
+	private boolean nextPartition(){
+		if(part >= 0){
+			buildParts[part].close();
+			probeParts[part].close();
+		}
+		if(++part == buildParts.length)
+			return false;
+		table = new JoinTable(intKey, buildCol);
+		for(Row r = buildParts[part].next(); r != null; r = buildParts[part].next()){
+			table.add(r);
+		}
+		return true;
+	}
+
+	private Record nextProbe(){
+		if(buildParts == null)
+			return probe.next();
+		while(true){
+			if(part >= 0 && part < buildParts.length){
+				Row r = probeParts[part].next();
+				if(r != null)
+					return r;
+			}
+			if(part == buildParts.length || !nextPartition())
+				return null;
+		}
+	}
+
+	public Record next(){
+		if(sliceTables != null){
+			while(batch == null || b == batch.size()){
+				if(!nextBatch())
+					return null;
+			}
+			return batch.get(b++);
+		}
+		while(true){
+			if(match != -1){
+				Record r = table.row(match);
+				match = table.next(match);
+				return new JoinedRecord(cur, r, buildCol);
+			}
+			cur = nextProbe();
+			if(cur == null)
+				return null;
+			match = table.find(cur, probeCol);
+		}
+	}
+
+	//every probe row is taken to match about one build row
+	public long estimate(){
+		return Math.max(probe.estimate(), build.estimate());
+	}
+
+	public long buildEstimate(){
+		return build.estimate();
+	}
+
+	public void close(){
+		probe.close();
+		build.close();
+		if(buildParts != null){
+			for(int i=Math.max(part, 0);i<buildParts.length;++i){
+				buildParts[i].close();
+				probeParts[i].close();
+			}
+			buildParts = null;
+			probeParts = null;
+		}
+		table = null;
+		slices = null;
+		sliceTables = null;
+		batch = null;
+		match = -1;
+	}
+
+}
@@ -0,0 +1,58 @@
+// Automatically generated code.  Edit at your own risk!
+// Generated by bali2jak v2002.09.03.
+
+package mdb;
+import Jakarta.util.*;
+import java.io.*;
+import java.util.*;
+
+public class IncludeCols extends Include {
+
+    final public static int ARG_LENGTH = 1 ;
+    final public static int TOK_LENGTH = 3 ;
+
+    public void execute () {
+        
+        super.execute();
+    }
+
+    public Field_list getField_list () {
+        
+        return (Field_list) arg [0] ;
+    }
+
+    public AstToken getINCLUDE () {
+        
+        return (AstToken) tok [0] ;
+    }
+
+    public AstToken getLP () {
+        
+        return (AstToken) tok [1] ;
+    }
+
+    public AstToken getRP () {
+        
+        return (AstToken) tok [2] ;
+    }
+
+    public boolean[] printorder () {
+        
+        return new boolean[] {true, true, false, true} ;
+    }
+
+    public IncludeCols setParms (AstToken tok0, AstToken tok1, Field_list arg0, AstToken tok2) {
+        
+        arg = new AstNode [ARG_LENGTH] ;
+        tok = new AstTokenInterface [TOK_LENGTH] ;
+        
+        tok [0] = tok0 ;            /* INCLUDE */
+        tok [1] = tok1 ;            /* LP */
+        arg [0] = arg0 ;            /* Field_list */
+        tok [2] = tok2 ;            /* RP */
+        
+        InitChildren () ;
+        return (IncludeCols) this ;
+    }
+
+}
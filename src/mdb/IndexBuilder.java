@@ -0,0 +1,325 @@
+package mdb;
+
+import static mdb.Main.catalog;
+import static mdb.Main.envmnt;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+import com.sleepycat.je.Transaction;
+
+//the entries of one index, collected while rows are written and put
+//afterwards in key order, so the index's B-tree fills from left to right
+//instead of touching a random leaf for every row. Once the entries held in
+//memory pass RUN_BYTES they are sorted and spilled to a run file in the
+//environment's directory; write() then merges the runs, so a build over any
+//number of rows keeps about RUN_BYTES of entries in memory.
+public class IndexBuilder {
+	//encoded entry bytes held in memory before a run is spilled
+	static final long RUN_BYTES = 64L << 20;
+	//bytes an entry costs beyond its encoded key and data
+	private static final int ENTRY_OVERHEAD = 48;
+	//the order of encoded keys, the index's own. Runs are sorted, checked
+	//and merged by it alone; the primitive sort of int keys is only
+	//checked against it.
+	private static final Comparator<byte[]> KEY_ORDER = new Comparator<byte[]>(){
+		public int compare(byte[] a, byte[] b){
+			return IndexTupleDA.compare(a, b);
+		}
+	};
+
+	private final IndexTupleDA ida;
+	//the key is a single int column: keys are kept unboxed and sorted as
+	//primitives, otherwise they are kept encoded
+	private final boolean intKey;
+	private final int col;
+	private int[] intKeys;
+	private byte[][] keys;
+	private byte[][] data = new byte[1024][];
+	private int n = 0;
+	private long bytes = 0;
+	//spilled runs, in the order their entries were added
+	private final ArrayList<File> runs = new ArrayList<File>();
+
+	public IndexBuilder(String tableName, int col){
+		this.ida = catalog.GetIndexDA(tableName, col);
+		this.col = col;
+		this.intKey = catalog.GetIndexKeys(tableName, col).size() == 1
+				&& catalog.ColField.get(tableName).get(col).equals("int");
+		if(intKey)
+			intKeys = new int[data.length];
+		else
+			keys = new byte[data.length][];
+	}
+
+	public void add(Row r, long pKey){
+		if(n == data.length){
+			data = Arrays.copyOf(data, n * 2);
+			if(intKey)
+				intKeys = Arrays.copyOf(intKeys, n * 2);
+			else
+				keys = Arrays.copyOf(keys, n * 2);
+		}
+		if(intKey){
+			intKeys[n] = r.getInt(col);
+			bytes += 4;
+		}
+		else{
+			keys[n] = ida.key(r);
+			bytes += keys[n].length;
+		}
+		data[n] = ida.data(r, pKey);
+		bytes += data[n].length + ENTRY_OVERHEAD;
+		n++;
+		if(bytes >= RUN_BYTES)
+			spill();
+	}
+
+	//put every entry in key order within txn
+	public void write(Transaction txn){
+		Entries e = entries();
+		try{
+			while(e.next()){
+				ida.put(txn, e.key, e.data);
+			}
+		}finally{
+			e.close();
+		}
+	}
+
+	//put every entry in key order, committing a bulk transaction every
+	//batch entries
+	public void write(int batch){
+		Entries e = entries();
+		Transaction t = null;
+		try{
+			for(long k=0;e.next();++k){
+				if(k % batch == 0){
+					if(t != null)
+						t.commit();
+					t = EnvManager.beginBulk();
+				}
+				ida.put(t, e.key, e.data);
+			}
+			if(t != null)
+				t.commit();
+			t = null;
+		}finally{
+			e.close();
+			if(t != null)
+				t.abort();
+		}
+	}
+
+	private byte[] key(int i){
+		if(intKey)
+			return ida.lead(intKeys[i]);
+		return keys[i];
+	}
+
+	//positions by key, then by position, which is row id order
+	private int[] order(){
+		int[] o = new int[n];
+		if(intKey){
+			//the key in the high half and the position in the low half
+			//sort as one signed long, key first
+			long[] s = new long[n];
+			for(int i=0;i<n;++i){
+				s[i] = ((long) intKeys[i] << 32) | i;
+			}
+			Arrays.sort(s);
+			for(int i=0;i<n;++i){
+				o[i] = (int) s[i];
+			}
+			return o;
+		}
+		Integer[] p = new Integer[n];
+		for(int i=0;i<n;++i){
+			p[i] = i;
+		}
+		Arrays.sort(p, new Comparator<Integer>(){
+			public int compare(Integer a, Integer b){
+				int c = KEY_ORDER.compare(keys[a], keys[b]);
+				return c != 0 ? c : a.compareTo(b);
+			}
+		});
+		for(int i=0;i<n;++i){
+			o[i] = p[i];
+		}
+		return o;
+	}
+
+	//write the entries in memory to a new run in key order and drop them
+	private void spill(){
+		int[] order = order();
+		try{
+			File f = File.createTempFile("index", ".run", envmnt.getHome());
+			f.deleteOnExit();
+			runs.add(f);
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(f), 1 << 16));
+			try{
+				byte[] last = null;
+				for(int k=0;k<n;++k){
+					byte[] key = key(order[k]);
+					checkOrder(last, key);
+					last = key;
+					out.writeInt(key.length);
+					out.write(key);
+					out.writeInt(data[order[k]].length);
+					out.write(data[order[k]]);
+				}
+			}finally{
+				out.close();
+			}
+		}catch(IOException e){
+			throw new RuntimeException("Error spilling index entries: " + e.getMessage(), e);
+		}
+		n = 0;
+		bytes = 0;
+		data = new byte[1024][];
+		if(intKey)
+			intKeys = new int[data.length];
+		else
+			keys = new byte[data.length][];
+	}
+
+	//the primitive sort of int keys must agree with KEY_ORDER, or the B-tree
+	//is filled out of order and a merge of runs goes wrong
+	private static void checkOrder(byte[] last, byte[] key){
+		if(last != null && KEY_ORDER.compare(last, key) > 0)
+			throw new IllegalStateException("index entries out of key order");
+	}
+
+	//every entry in key order: straight from memory if nothing was spilled,
+	//otherwise merged from the runs. The builder is empty afterwards.
+	private Entries entries(){
+		if(runs.isEmpty()){
+			final int[] order = order();
+			n = 0;
+			bytes = 0;
+			return new Entries(){
+				private int k = 0;
+
+				boolean next(){
+					if(k == order.length)
+						return false;
+					byte[] last = key;
+					key = key(order[k]);
+					checkOrder(last, key);
+					data = IndexBuilder.this.data[order[k++]];
+					return true;
+				}
+			};
+		}
+		if(n > 0)
+			spill();
+		final ArrayList<Run> open = new ArrayList<Run>();
+		//by key, then by run, which keeps the entries of a key in row id
+		//order since the runs were spilled in that order
+		final PriorityQueue<Run> heap = new PriorityQueue<Run>(runs.size(), new Comparator<Run>(){
+			public int compare(Run a, Run b){
+				int c = KEY_ORDER.compare(a.key, b.key);
+				return c != 0 ? c : a.seq - b.seq;
+			}
+		});
+		try{
+			for(File f : runs){
+				Run r = new Run(f, open.size());
+				open.add(r);
+				if(r.next())
+					heap.add(r);
+			}
+		}catch(IOException e){
+			for(Run r : open){
+				r.close();
+			}
+			throw new RuntimeException("Error reading index entries: " + e.getMessage(), e);
+		}
+		runs.clear();
+		return new Entries(){
+			private Run last = null;
+
+			boolean next(){
+				try{
+					if(last != null && last.next())
+						heap.add(last);
+				}catch(IOException e){
+					throw new RuntimeException("Error reading index entries: " + e.getMessage(), e);
+				}
+				last = heap.poll();
+				if(last == null)
+					return false;
+				key = last.key;
+				data = last.data;
+				return true;
+			}
+
+			void close(){
+				for(Run r : open){
+					r.close();
+				}
+			}
+		};
+	}
+
+	//entries in key order, key and data are those of the current one
+	private abstract static class Entries {
+		byte[] key;
+		byte[] data;
+
+		abstract boolean next();
+
+		void close(){
+		}
+	}
+
+	//a spilled run read back one entry at a time; the file is deleted when
+	//the run is closed
+	private static class Run {
+		private final File file;
+		private final DataInputStream in;
+		final int seq;
+		byte[] key;
+		byte[] data;
+
+		Run(File file, int seq) throws IOException {
+			this.file = file;
+			this.seq = seq;
+			this.in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 1 << 16));
+		}
+
+		boolean next() throws IOException {
+			int len;
+			try{
+				len = in.readInt();
+			}catch(EOFException e){
+				return false;
+			}
+			key = new byte[len];
+			in.readFully(key);
+			data = new byte[in.readInt()];
+			in.readFully(data);
+			return true;
+		}
+
+		void close(){
+			try{
+				in.close();
+			}catch(IOException e){
+			}
+			file.delete();
+		}
+	}
+
+}
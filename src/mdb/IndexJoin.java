@@ -0,0 +1,105 @@
+package mdb;
+
+import static mdb.Main.catalog;
+import static mdb.Main.txn;
+
+import com.sleepycat.je.CursorConfig;
+import com.sleepycat.je.LockMode;
+import com.sleepycat.persist.PrimaryIndex;
+
+//index nested-loop join: the outer input is streamed and every outer row
+//looks up the inner table's rows through the index on the inner join
+//column, so the inner table is never read as a whole. Output columns are
+//the outer columns followed by the inner columns without the join column.
+public class IndexJoin extends RowSource {
+	private final RowSource outer;
+	private final int outerCol;
+	private final String innerTable;
+	private final int innerCol;
+	//the inner table's own WHERE clauses
+	private final Predicate innerWhere;
+	private final boolean isInt;
+	private IndexTupleDA ida;
+	private PrimaryIndex<Long,Tuple> pIdx;
+	private CursorConfig config;
+	private Record cur;
+	private IndexTupleDA.Range match;
+
+	public IndexJoin(RowSource outer, int outerCol, String innerTable, int innerCol, Predicate innerWhere){
+		this.outer = outer;
+		this.outerCol = outerCol;
+		this.innerTable = innerTable;
+		this.innerCol = innerCol;
+		this.innerWhere = innerWhere;
+		this.isInt = catalog.ColField.get(innerTable).get(innerCol).equals("int");
+		int w = catalog.ColInfo.get(innerTable).size();
+		int n = outer.width() + w - 1;
+		tables = new String[n];
+		columns = new String[n];
+		types = new String[n];
+		int k = 0;
+		for(int i=0;i<outer.width();++i,++k){
+			tables[k] = outer.tables[i];
+			columns[k] = outer.columns[i];
+			types[k] = outer.types[i];
+		}
+		for(int i=0;i<w;++i){
+			if(i == innerCol)
+				continue;
+			tables[k] = innerTable;
+			columns[k] = catalog.ColInfo.get(innerTable).get(i);
+			types[k] = catalog.ColField.get(innerTable).get(i);
+			++k;
+		}
+	}
+
+	//the index can be probed when both join columns have the same type
+	public static boolean usable(RowSource outer, int outerCol, String innerTable, int innerCol){
+		return catalog.isIndexed.get(innerTable).get(innerCol)
+				&& outer.types[outerCol].equals(catalog.ColField.get(innerTable).get(innerCol));
+	}
+
+	public void open(){
+		ida = catalog.GetIndexDA(innerTable, innerCol);
+		pIdx = catalog.GetTupleDA(innerTable).pIdx;
+		config = new CursorConfig();
+		config.setReadUncommitted(true);
+		outer.open();
+	}
+
+	public Record next(){
+		while(true){
+			if(match != null){
+				while(match.next()){
+					Tuple t = pIdx.get(txn, match.rowId(), LockMode.READ_UNCOMMITTED);
+					if(t != null && innerWhere.eval(t.getRow()))
+						return new JoinedRecord(cur, t.getRow(), innerCol);
+				}
+				match.close();
+				match = null;
+			}
+			cur = outer.next();
+			if(cur == null)
+				return null;
+			Object k;
+			if(isInt)
+				k = cur.getInt(outerCol);
+			else
+				k = cur.getString(outerCol);
+			match = ida.open(txn, k, config);
+		}
+	}
+
+	public long estimate(){
+		return outer.estimate();
+	}
+
+	public void close(){
+		if(match != null){
+			match.close();
+			match = null;
+		}
+		outer.close();
+	}
+
+}
@@ -0,0 +1,88 @@
+package mdb;
+
+import static mdb.Main.catalog;
+import static mdb.Main.txn;
+
+import com.sleepycat.je.CursorConfig;
+import com.sleepycat.je.LockMode;
+import com.sleepycat.persist.PrimaryIndex;
+
+//rows of a table found through the index range of an AccessPath. Every
+//fetched row is checked against all of the table's WHERE clauses, which
+//covers the clauses the range did not. A covering path builds its rows from
+//the index entries and never reads the table.
+public class IndexScan extends RowSource {
+	private final AccessPath path;
+	private final Predicate where;
+	private PrimaryIndex<Long,Tuple> pIdx;
+	//row ids of an intersection, or a cursor over the range
+	private long[] ids;
+	private int pos;
+	private IndexTupleDA.Range cursor;
+
+	public IndexScan(AccessPath path, Predicate where){
+		this.path = path;
+		this.where = where;
+		tableSchema(path.tableName);
+	}
+
+	public void open(){
+		pIdx = catalog.GetTupleDA(path.tableName).pIdx;
+		ids = path.isCovering() ? null : path.intersect();
+		pos = 0;
+		if(ids == null){
+			CursorConfig config = new CursorConfig();
+			config.setReadUncommitted(true);
+			cursor = path.open(config);
+		}
+	}
+
+	public Record next(){
+		if(path.isCovering()){
+			while(cursor.next()){
+				Row r = cursor.row();
+				if(where.eval(r))
+					return r;
+			}
+			return null;
+		}
+		while(true){
+			long pKey;
+			if(ids != null){
+				if(pos == ids.length)
+					return null;
+				pKey = ids[pos++];
+			}
+			else{
+				if(!cursor.next())
+					return null;
+				pKey = cursor.rowId();
+			}
+			Tuple t = pIdx.get(txn, pKey, LockMode.READ_UNCOMMITTED);
+			if(t == null)
+				continue;
+			Row r = t.getRow();
+			if(where.eval(r))
+				return r;
+		}
+	}
+
+	//the counted range, narrowed by the clauses it did not take
+	public long estimate(){
+		double s = 1;
+		for(Predicate p : where.conjuncts()){
+			if(!(p instanceof Predicate.Compare) || !path.bounds(((Predicate.Compare) p).col))
+				s *= p.selectivity();
+		}
+		return (long) Math.ceil(path.getEstimate() * s);
+	}
+
+	public void close(){
+		if(cursor != null){
+			cursor.close();
+			cursor = null;
+		}
+		ids = null;
+	}
+
+}
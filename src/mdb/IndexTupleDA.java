@@ -1,21 +1,314 @@
 package mdb;
-import java.io.File;
 
+import static mdb.Main.catalog;
+import static mdb.Main.envmnt;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+
+import com.sleepycat.bind.tuple.TupleInput;
+import com.sleepycat.bind.tuple.TupleOutput;
+import com.sleepycat.je.Cursor;
+import com.sleepycat.je.CursorConfig;
+import com.sleepycat.je.Database;
+import com.sleepycat.je.DatabaseConfig;
+import com.sleepycat.je.DatabaseEntry;
 import com.sleepycat.je.DatabaseException;
-import com.sleepycat.persist.EntityStore;
-import com.sleepycat.persist.PrimaryIndex;
-import com.sleepycat.persist.SecondaryIndex;
+import com.sleepycat.je.LockMode;
+import com.sleepycat.je.OperationStatus;
+import com.sleepycat.je.Transaction;
 
+//one index: a database with sorted duplicates whose key is the values of the
+//index's key columns and whose data is the row id followed by the values of
+//its included columns. int values are stored as sorted packed ints and str
+//values as null-terminated modified UTF-8, which sorts like
+//Row.compareStrings; neither is a prefix of another, so keys sort by their
+//first column, then their second and so on, and the entries of one key sort
+//by row id. The index is led by the column whose catalog slot holds it. A
+//range fixes the values of the first key columns and bounds the next one;
+//since every value is self-delimiting its bounds are byte prefixes of the
+//keys.
 public class IndexTupleDA {
-	public IndexTupleDA(EntityStore store) throws DatabaseException {
-		// Primary key for SimpleEntityClass classes
-		pIdx = store.getPrimaryIndex(String.class, TempIndexEntity.class);
-		sStringIdx = store.getSecondaryIndex( pIdx, String.class, "stringKey");
-		sIntIdx = store.getSecondaryIndex( pIdx, Integer.class, "intKey");
+	private final Database db;
+	//type of every column of the table
+	private final boolean[] isInt;
+	private final int[] keys;
+	private final int[] include;
+
+	public IndexTupleDA(String name, String tableName, int col) throws DatabaseException {
+		ArrayList<String> colField = catalog.ColField.get(tableName);
+		isInt = new boolean[colField.size()];
+		for(int i=0;i<isInt.length;++i){
+			isInt[i] = colField.get(i).equals("int");
+		}
+		keys = toArray(catalog.GetIndexKeys(tableName, col));
+		include = toArray(catalog.GetIndexInclude(tableName, col));
+		DatabaseConfig config = new DatabaseConfig();
+		config.setAllowCreate(true);
+		config.setTransactional(true);
+		config.setSortedDuplicates(true);
+		db = envmnt.openDatabase(null, name, config);
+	}
+
+	private static int[] toArray(ArrayList<Integer> l){
+		int[] a = new int[l.size()];
+		for(int i=0;i<a.length;++i){
+			a[i] = l.get(i);
+		}
+		return a;
+	}
+
+	private static boolean contains(int[] a, int c){
+		for(int x : a){
+			if(x == c)
+				return true;
+		}
+		return false;
+	}
+
+	//whether the entries hold every one of the columns, so rows can be
+	//answered from the index without reading the table
+	public boolean covers(Collection<Integer> cols){
+		for(int c : cols){
+			if(!contains(keys, c) && !contains(include, c))
+				return false;
+		}
+		return true;
+	}
+
+	private void write(TupleOutput out, int c, Object v){
+		if(isInt[c])
+			out.writeSortedPackedInt((Integer) v);
+		else
+			out.writeString((String) v);
+	}
+
+	private void write(TupleOutput out, int c, Row r){
+		if(isInt[c])
+			out.writeSortedPackedInt(r.getInt(c));
+		else
+			out.writeString(r.getString(c));
+	}
+
+	private Object read(TupleInput in, int c){
+		if(isInt[c])
+			return in.readSortedPackedInt();
+		return in.readString();
+	}
+
+	public byte[] key(Row r){
+		TupleOutput out = new TupleOutput();
+		for(int c : keys){
+			write(out, c, r);
+		}
+		return out.toByteArray();
+	}
+
+	public byte[] data(Row r, long id){
+		TupleOutput out = new TupleOutput();
+		out.writeSortedPackedLong(id);
+		for(int c : include){
+			write(out, c, r);
+		}
+		return out.toByteArray();
+	}
+
+	//encoded value of the leading column, the whole key of an index on a
+	//single column
+	public byte[] lead(Object v){
+		TupleOutput out = new TupleOutput();
+		write(out, keys[0], v);
+		return out.toByteArray();
+	}
+
+	public void put(Transaction txn, byte[] key, byte[] data){
+		db.put(txn, new DatabaseEntry(key), new DatabaseEntry(data));
+	}
+
+	public void put(Transaction txn, Row r, long id){
+		put(txn, key(r), data(r, id));
+	}
+
+	public void delete(Transaction txn, byte[] key, byte[] data){
+		Cursor c = db.openCursor(txn, null);
+		try{
+			if(c.getSearchBoth(new DatabaseEntry(key), new DatabaseEntry(data), LockMode.RMW) == OperationStatus.SUCCESS)
+				c.delete();
+		}finally{
+			c.close();
+		}
+	}
+
+	public void delete(Transaction txn, Row r, long id){
+		delete(txn, key(r), data(r, id));
+	}
+
+	//move the entries of every index of a row that holds a changed value
+	public static void update(Transaction txn, String tableName, long id, Row old, Row row){
+		for(int i=0;i<catalog.isIndexed.get(tableName).size();++i){
+			if(catalog.isIndexed.get(tableName).get(i).equals(false))
+				continue;
+			IndexTupleDA ida = catalog.GetIndexDA(tableName, i);
+			if(Arrays.equals(ida.key(old), ida.key(row)) && Arrays.equals(ida.data(old, id), ida.data(row, id)))
+				continue;
+			ida.delete(txn, old, id);
+			ida.put(txn, row, id);
+		}
+		OnlineIndex.logUpdate(tableName, id, old, row);
+	}
+
+	//entries whose first key columns hold the values of prefix and whose next
+	//key column lies between lo and hi, in key and row id order; a null bound
+	//is open
+	public Range open(Transaction txn, Object[] prefix, Object lo, boolean loInc, Object hi, boolean hiInc, CursorConfig config){
+		byte[] p = prefix(prefix, null);
+		return new Range(db.openCursor(txn, config), lo == null ? p : prefix(prefix, lo), lo == null || loInc,
+				hi == null ? p : prefix(prefix, hi), hi == null || hiInc);
+	}
+
+	//entries whose leading column is v
+	public Range open(Transaction txn, Object v, CursorConfig config){
+		return open(txn, new Object[0], v, true, v, true, config);
+	}
+
+	//encoded values of the first key columns followed by v, null if there
+	//are none
+	private byte[] prefix(Object[] prefix, Object v){
+		if(prefix.length == 0 && v == null)
+			return null;
+		TupleOutput out = new TupleOutput();
+		for(int i=0;i<prefix.length;++i){
+			write(out, keys[i], prefix[i]);
+		}
+		if(v != null)
+			write(out, keys[prefix.length], v);
+		return out.toByteArray();
+	}
+
+	public void close(){
+		try{
+			db.close();
+		}catch(DatabaseException dbe) {
+			System.err.println("Error closing index" + dbe.toString());
+		}
+	}
+
+	public class Range {
+		private final Cursor cursor;
+		//encoded bounds on the first key columns
+		private final byte[] lo;
+		private final boolean loInc;
+		private final byte[] hi;
+		private final boolean hiInc;
+		private final DatabaseEntry key = new DatabaseEntry();
+		private final DatabaseEntry data = new DatabaseEntry();
+		private boolean started = false;
+		private boolean done = false;
+
+		Range(Cursor cursor, byte[] lo, boolean loInc, byte[] hi, boolean hiInc){
+			this.cursor = cursor;
+			this.lo = lo;
+			this.loInc = loInc;
+			this.hi = hi;
+			this.hiInc = hiInc;
+		}
+
+		//step to the next entry, false past the range
+		public boolean next(){
+			if(done)
+				return false;
+			OperationStatus s;
+			if(started)
+				s = cursor.getNext(key, data, null);
+			else{
+				started = true;
+				byte[] from = (lo == null || loInc) ? lo : after(lo);
+				if(lo == null)
+					s = cursor.getFirst(key, data, null);
+				else if(from == null)
+					s = OperationStatus.NOTFOUND;
+				else{
+					key.setData(from);
+					s = cursor.getSearchKeyRange(key, data, null);
 				}
-		// Index Accessors
-		PrimaryIndex<String,TempIndexEntity> pIdx;
-		SecondaryIndex<String,String,TempIndexEntity> sStringIdx;
-		SecondaryIndex<Integer, String,TempIndexEntity> sIntIdx;
+			}
+			if(s == OperationStatus.SUCCESS && hi != null){
+				int c = comparePrefix(key, hi);
+				if(c > 0 || (c == 0 && !hiInc))
+					s = OperationStatus.NOTFOUND;
+			}
+			done = s != OperationStatus.SUCCESS;
+			return !done;
+		}
+
+		public long rowId(){
+			return new TupleInput(data.getData(), data.getOffset(), data.getSize()).readSortedPackedLong();
+		}
+
+		//value of the leading column
+		public Object value(){
+			return read(new TupleInput(key.getData(), key.getOffset(), key.getSize()), keys[0]);
+		}
+
+		//the table row as far as the entry holds it: columns the index does
+		//not hold are 0 or empty, so covers() must have been checked
+		public Row row(){
+			Object[] val = new Object[isInt.length];
+			for(int c=0;c<val.length;++c){
+				val[c] = isInt[c] ? (Object) 0 : "";
+			}
+			TupleInput in = new TupleInput(key.getData(), key.getOffset(), key.getSize());
+			for(int c : keys){
+				val[c] = read(in, c);
+			}
+			in = new TupleInput(data.getData(), data.getOffset(), data.getSize());
+			in.readSortedPackedLong();
+			for(int c : include){
+				val[c] = read(in, c);
+			}
+			return Row.of(val);
+		}
+
+		public void close(){
+			cursor.close();
+		}
+	}
+
+	//the least key above every key that starts with p, null if there is none
+	private static byte[] after(byte[] p){
+		for(int i=p.length-1;i>=0;--i){
+			if(p[i] != (byte) 0xff){
+				byte[] b = Arrays.copyOf(p, i + 1);
+				b[i]++;
+				return b;
+			}
+		}
+		return null;
+	}
+
+	//unsigned byte order, the order of the database's keys
+	public static int compare(byte[] a, byte[] b){
+		int n = Math.min(a.length, b.length);
+		for(int i=0;i<n;++i){
+			int c = (a[i] & 0xff) - (b[i] & 0xff);
+			if(c != 0)
+				return c;
+		}
+		return a.length - b.length;
+	}
+
+	//the key's leading bytes against a bound: 0 when the key starts with it
+	private static int comparePrefix(DatabaseEntry key, byte[] bound){
+		byte[] k = key.getData();
+		int off = key.getOffset();
+		int n = Math.min(key.getSize(), bound.length);
+		for(int i=0;i<n;++i){
+			int c = (k[off + i] & 0xff) - (bound[i] & 0xff);
+			if(c != 0)
+				return c;
+		}
+		return key.getSize() < bound.length ? -1 : 0;
+	}
 
 }
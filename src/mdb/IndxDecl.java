@@ -7,103 +7,89 @@ import Jakarta.util.*;
 import java.io.*;
 import java.util.*;
 
-import com.sleepycat.je.CursorConfig;
-import com.sleepycat.je.Environment;
-import com.sleepycat.je.EnvironmentConfig;
-import com.sleepycat.persist.EntityCursor;
-import com.sleepycat.persist.EntityStore;
-import com.sleepycat.persist.PrimaryIndex;
-import com.sleepycat.persist.StoreConfig;
-
 import static mdb.Main.catalog;
-import static mdb.Main.envmnt;
-import static mdb.Main.store;
-import static mdb.Main.tableCount;
-import static mdb.Main.tableIndex;
-import static mdb.Main.txn;
+import static mdb.Main.onlineIndex;
 import static mdb.Main.unCommittedIndex;
 
 public class IndxDecl extends Decl_ind {
 
-    final public static int ARG_LENGTH = 1 ;
-    final public static int TOK_LENGTH = 2 ;
-    private File envHome = null;
-    private IndexTupleDA ida;
+    final public static int ARG_LENGTH = 3 ;
+    final public static int TOK_LENGTH = 3 ;
 
     public void execute () {
         
         //super.execute();
-    	String tableName = arg[0].arg[0].tok[0].getTokenName();
-    	String colName = arg[0].arg[1].tok[0].getTokenName();
-    	
-    	unCommittedIndex.add(tableName);
-    	unCommittedIndex.add(colName);
+    	String tableName = getRel_name ().tok[0].getTokenName();
     	
     	if(!catalog.TableName.contains(tableName)){
     		System.out.println("Table doesn't exist!");
     		return;
     	}
-    	else if(!catalog.ColInfo.get(tableName).contains(colName)){
-    		System.out.println("Field Name doesn't exist!");
-    		return;
+    	
+    	ArrayList<String> keyNames = new ArrayList<String>();
+    	if(getIndex_key () instanceof KeyCols)
+    		names(getIndex_key ().arg[0], keyNames);
+    	else
+    		keyNames.add(getIndex_key ().arg[0].tok[0].getTokenName());
+    	ArrayList<String> includeNames = new ArrayList<String>();
+    	if(getInclude () != null)
+    		names(getInclude ().arg[0], includeNames);
+    	
+    	ArrayList<Integer> keys = new ArrayList<Integer>();
+    	ArrayList<Integer> include = new ArrayList<Integer>();
+    	ArrayList<String> all = new ArrayList<String>(keyNames);
+    	all.addAll(includeNames);
+    	for(int i=0;i<all.size();++i){
+    		String colName = all.get(i);
+    		if(!catalog.ColInfo.get(tableName).contains(colName)){
+    			System.out.println("Field Name doesn't exist!");
+    			return;
+    		}
+    		if(all.indexOf(colName) != i){
+    			System.out.println("Field "+colName+" is listed twice!");
+    			return;
+    		}
+    		int pos = catalog.ColInfo.get(tableName).indexOf(colName);
+    		if(i < keyNames.size())
+    			keys.add(pos);
+    		else
+    			include.add(pos);
     	}
     	
-    	else if(catalog.isIndexed.get(tableName).get(catalog.ColInfo.get(tableName).indexOf(colName))){
+    	//the index takes the slot of its leading column
+    	String colName = keyNames.get(0);
+    	int p = keys.get(0);
+    	if(catalog.isIndexed.get(tableName).get(p) || OnlineIndex.isBuilding(tableName, p)){
     		System.out.println("Index for"+" "+tableName + "."+colName+" already exist!");
     		return;		
     	}
     	
-    	catalog.isIndexed.get(tableName).set(catalog.ColInfo.get(tableName).indexOf(colName), true);
-    	
-    	envHome = catalog.getEnvHome(tableName, catalog.ColInfo.get(tableName).indexOf(colName));
-   	   	
-  
-   	   
-   	   EnvironmentConfig envConfig = new EnvironmentConfig();
-   	   StoreConfig storeConfig = new StoreConfig();
-   	   envConfig.setAllowCreate(true);
-   	   envConfig.setTransactional(true);
-   	   storeConfig.setAllowCreate(true);
-   	   storeConfig.setTransactional(true);
-   	   
-   	   int p = catalog.ColInfo.get(tableName).indexOf(colName);
-   	   catalog.SetIndexEnv(tableName, p , new Environment(envHome, envConfig));
-   	   catalog.SetIndexStore(tableName, p, new EntityStore(catalog.indexEnv.get(tableName).get(p), tableName, storeConfig));
-   	   catalog.SetIndexTransaction(tableName, p, catalog.indexEnv.get(tableName).get(p).beginTransaction(null, null));
-   	   
-   	   
-   	   ida = new IndexTupleDA(catalog.indexStore.get(tableName).get(p));
-   	   
-   	   PrimaryIndex<String,Tuple> pi = store.get(tableIndex.get(tableName)).getPrimaryIndex(String.class, Tuple.class);
-	
-   	   CursorConfig config = new CursorConfig();
-   	   config.setReadUncommitted(true);  
-	
-	
-   	   EntityCursor<Tuple> pi_cursor = pi.entities(txn.get(tableIndex.get(tableName)),config);
-   	   try {
-			for (Tuple seci : pi_cursor) {
-				TempIndexEntity t = new TempIndexEntity();
-				if(catalog.ColField.get(tableName).get(p).equals("str")){
-					t.setPKey(seci.getPKey());
-					t.setStringKey(seci.getValue().get(p));
-				}
-				
-				if(catalog.ColField.get(tableName).get(p).equals("int")){
-					t.setPKey(seci.getPKey());
-					t.setIntKey(Integer.parseInt(seci.getValue().get(p)));
-				}
-				ida.pIdx.put(catalog.indexTxn.get(tableName).get(p),t);
-
-			}
-		} finally {
-		// Always close the cursor
-		pi_cursor.close();
-		}
-   	   
-    	
+    	unCommittedIndex.add(tableName);
+    	unCommittedIndex.add(colName);
     	
+    	catalog.SetIndexCols(tableName, p, keys, include);
     	
+    	EnvManager.openIndex(tableName, p);
+    	if(onlineIndex){
+    		//the column is marked indexed once the background build is done
+    		OnlineIndex.start(tableName, p);
+    		return;
+    	}
+    	//sorted bulk build, see EnvManager.buildIndex
+    	EnvManager.buildIndex(tableName, p);
+    	catalog.isIndexed.get(tableName).set(p, true);
+    }
+
+    //the column names of a Field_list
+    private static void names(AstNode list, ArrayList<String> res){
+    	for(AstNode f = list.arg[0]; f != null; f = f.right){
+    		res.add(f.arg[0].tok[0].getTokenName());
+    	}
+    }
+
+    public AstToken getDOT () {
+        
+        return (AstToken) tok [1] ;
     }
 
     public AstToken getINDEX () {
@@ -111,29 +97,45 @@ public class IndxDecl extends Decl_ind {
         return (AstToken) tok [0] ;
     }
 
-    public Rel_dot_field getRel_dot_field () {
+    public Include getInclude () {
         
-        return (Rel_dot_field) arg [0] ;
+        AstNode node = arg[2].arg [0] ;
+        return (node != null) ? (Include) node : null ;
+    }
+
+    public Index_key getIndex_key () {
+        
+        return (Index_key) arg [1] ;
+    }
+
+    public Rel_name getRel_name () {
+        
+        return (Rel_name) arg [0] ;
     }
 
     public AstToken getSEMI () {
         
-        return (AstToken) tok [1] ;
+        return (AstToken) tok [2] ;
     }
 
     public boolean[] printorder () {
         
-        return new boolean[] {true, false, true} ;
+        return new boolean[] {true, false, true, false, false, true} ;
     }
 
-    public IndxDecl setParms (AstToken tok0, Rel_dot_field arg0, AstToken tok1) {
+    public IndxDecl setParms
+    (AstToken tok0, Rel_name arg0, AstToken tok1, Index_key arg1, AstOptNode arg2, AstToken tok2)
+    {
         
         arg = new AstNode [ARG_LENGTH] ;
         tok = new AstTokenInterface [TOK_LENGTH] ;
         
         tok [0] = tok0 ;            /* INDEX */
-        arg [0] = arg0 ;            /* Rel_dot_field */
-        tok [1] = tok1 ;            /* SEMI */
+        arg [0] = arg0 ;            /* Rel_name */
+        tok [1] = tok1 ;            /* DOT */
+        arg [1] = arg1 ;            /* Index_key */
+        arg [2] = arg2 ;            /* [Include] */
+        tok [2] = tok2 ;            /* SEMI */
         
         InitChildren () ;
         return (IndxDecl) this ;
@@ -17,9 +17,10 @@ import java.util.*;
 public class InsertCmd extends Insert {
 
     final public static int ARG_LENGTH = 2 ;
-    final public static int TOK_LENGTH = 6 ;
-    private TupleDA da;
-    private IndexTupleDA ida;
+    final public static int TOK_LENGTH = 4 ;
+    //rows an insert must exceed before its index entries are collected and
+    //put sorted; fewer are put as they are written
+    private static final int SORT_ROWS = 64;
     
     public void execute () {
     	if(isOpen==1){
@@ -31,53 +32,65 @@ public class InsertCmd extends Insert {
     }
 
     public void execute2 () {
-        
-        //super.execute();
-    	//super.execute();
     	String tableName = getRel_name ().tok[0].getTokenName();
-    	AstNode tmp = getLiteral_list ().arg[0];
-    	//System.out.println(tmp.className());
-    	ArrayList<String> val = new ArrayList<String>();
-    	while(tmp!=null){
-    		String temp = tmp.arg[0].tok[0].getTokenName();
-    		val.add(temp);
-    		tmp = tmp.right;
-    	}
-    	
-    	Tuple t = new Tuple();
-    	t.setPKey();
-    	t.setValue(val);
-    	t.setTableName(tableName);
-    	
     	if(tableIndex.get(tableName)==null){
     		System.out.println("target table doesn't exist!");
     		return;
     	}
-    	
-    	da = new TupleDA(store.get(tableIndex.get(tableName)));
-    	da.pIdx.put(txn.get(tableIndex.get(tableName)), t);
-    	
+    	List<String> colField = catalog.ColField.get(tableName);
+
+    	//every row is checked before any is written, so a bad row inserts
+    	//nothing
+    	ArrayList<Row> rows = new ArrayList<Row>();
+    	for(AstNode v = getValues_list ().arg[0]; v != null; v = v.right){
+    		ArrayList<String> val = new ArrayList<String>();
+    		for(AstNode tmp = v.arg[0].arg[0].arg[0]; tmp != null; tmp = tmp.right){
+    			val.add(tmp.arg[0].tok[0].getTokenName());
+    		}
+    		if(val.size()!=colField.size()){
+    			System.out.println("wrong number of values!");
+    			return;
+    		}
+    		try{
+    			rows.add(Row.encode(val, colField));
+    		}catch(NumberFormatException e){
+    			System.out.println("wrong value for int column!");
+    			return;
+    		}
+    	}
+
+    	boolean sort = rows.size() > SORT_ROWS;
+    	ArrayList<IndexTupleDA> direct = new ArrayList<IndexTupleDA>();
+    	ArrayList<IndexBuilder> indexes = new ArrayList<IndexBuilder>();
     	for(int i=0;i<catalog.isIndexed.get(tableName).size();++i){
-    		if(catalog.isIndexed.get(tableName).get(i).equals(true)){
-    			ida = new IndexTupleDA(catalog.indexStore.get(tableName).get(i));
-    			TempIndexEntity tt = new TempIndexEntity();
-    			if(catalog.ColField.get(tableName).get(i).equals("int")){
-    				tt.setPKey(t.getPKey());
-    				tt.setIntKey(Integer.parseInt(val.get(i)));
-    				tt.setTableName(tableName);
-    				
-    			}else{
-    				tt.setPKey(t.getPKey());
-    				tt.setStringKey(val.get(i));
-    				tt.setTableName(tableName);
-    				
-    			}
-    			ida.pIdx.put(catalog.indexTxn.get(tableName).get(i),tt);
-    				
+    		if(catalog.isIndexed.get(tableName).get(i).equals(false))
+    			continue;
+    		if(sort)
+    			indexes.add(new IndexBuilder(tableName, i));
+    		else
+    			direct.add(catalog.GetIndexDA(tableName, i));
+    	}
+
+    	TupleDA da = catalog.GetTupleDA(tableName);
+    	catalog.RowsChanged(tableName);
+    	for(Row row : rows){
+    		Tuple t = new Tuple();
+    		t.setRow(row);
+    		t.setTableName(tableName);
+    		//put assigns the row id from the table's sequence
+    		da.pIdx.putNoReturn(txn, t);
+    		OnlineIndex.logPut(tableName, row, t.getPKey());
+    		for(IndexTupleDA ida : direct){
+    			ida.put(txn, row, t.getPKey());
+    		}
+    		for(IndexBuilder b : indexes){
+    			b.add(row, t.getPKey());
     		}
     	}
-    	
-    	
+    	//row ids only grow, but each index is written in its own key order
+    	for(IndexBuilder b : indexes){
+    		b.write(txn);
+    	}
     }
 
     public AstToken getINSERT () {
@@ -90,21 +103,6 @@ public class InsertCmd extends Insert {
         return (AstToken) tok [1] ;
     }
 
-    public AstToken getLP () {
-        
-        return (AstToken) tok [3] ;
-    }
-
-    public Literal_list getLiteral_list () {
-        
-        return (Literal_list) arg [1] ;
-    }
-
-    public AstToken getRP () {
-        
-        return (AstToken) tok [4] ;
-    }
-
     public Rel_name getRel_name () {
         
         return (Rel_name) arg [0] ;
@@ -112,7 +110,7 @@ public class InsertCmd extends Insert {
 
     public AstToken getSEMI () {
         
-        return (AstToken) tok [5] ;
+        return (AstToken) tok [3] ;
     }
 
     public AstToken getVALUES () {
@@ -120,13 +118,18 @@ public class InsertCmd extends Insert {
         return (AstToken) tok [2] ;
     }
 
+    public Values_list getValues_list () {
+        
+        return (Values_list) arg [1] ;
+    }
+
     public boolean[] printorder () {
         
-        return new boolean[] {true, true, false, true, true, false, true, true} ;
+        return new boolean[] {true, true, false, true, false, true} ;
     }
 
     public InsertCmd setParms
-    (AstToken tok0, AstToken tok1, Rel_name arg0, AstToken tok2, AstToken tok3, Literal_list arg1, AstToken tok4, AstToken tok5)
+    (AstToken tok0, AstToken tok1, Rel_name arg0, AstToken tok2, Values_list arg1, AstToken tok3)
     {
         
         arg = new AstNode [ARG_LENGTH] ;
@@ -136,10 +139,8 @@ public class InsertCmd extends Insert {
         tok [1] = tok1 ;            /* INTO */
         arg [0] = arg0 ;            /* Rel_name */
         tok [2] = tok2 ;            /* VALUES */
-        tok [3] = tok3 ;            /* LP */
-        arg [1] = arg1 ;            /* Literal_list */
-        tok [4] = tok4 ;            /* RP */
-        tok [5] = tok5 ;            /* SEMI */
+        arg [1] = arg1 ;            /* Values_list */
+        tok [3] = tok3 ;            /* SEMI */
         
         InitChildren () ;
         return (InsertCmd) this ;
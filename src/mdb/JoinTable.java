@@ -0,0 +1,151 @@
+package mdb;
+
+import java.util.Arrays;
+
+//build rows of a HashJoin by join column. Keys live in open addressed
+//parallel arrays: int keys unboxed, text keys with their hash so a probe only
+//compares strings whose hashes match. The rows of one key are chained through
+//next[] in the order they were added, so a probe walks ints, not lists.
+class JoinTable {
+	private final boolean intKey;
+	private final int col;
+	private int mask;
+	private int shift;
+	//first and last row of each slot, -1 for an empty slot
+	private int[] first;
+	private int[] last;
+	private int[] intKeys;
+	private String[] strKeys;
+	private int[] hashes;
+	private int keys = 0;
+	private Record[] rows = new Record[16];
+	//next row of the same key, -1 after the last one
+	private int[] next = new int[16];
+	private int size = 0;
+
+	//intKey: both join columns are int, otherwise keys are the printed text
+	JoinTable(boolean intKey, int col){
+		this.intKey = intKey;
+		this.col = col;
+		alloc(64);
+	}
+
+	private void alloc(int cap){
+		mask = cap - 1;
+		shift = 32 - Integer.numberOfTrailingZeros(cap);
+		first = new int[cap];
+		last = new int[cap];
+		Arrays.fill(first, -1);
+		if(intKey)
+			intKeys = new int[cap];
+		else{
+			strKeys = new String[cap];
+			hashes = new int[cap];
+		}
+	}
+
+	//the key hash HashJoin partitions by
+	static int hash(Record r, int col, boolean intKey){
+		return intKey ? r.getInt(col) : r.getText(col).hashCode();
+	}
+
+	//spreads sequential ids over the table
+	private int slot(int h){
+		return (h * 0x9E3779B9) >>> shift;
+	}
+
+	public int size(){
+		return size;
+	}
+
+	public Record row(int i){
+		return rows[i];
+	}
+
+	//next row with the key of row i, -1 for none
+	public int next(int i){
+		return next[i];
+	}
+
+	public void add(Record r){
+		int h;
+		String s = null;
+		if(intKey)
+			h = r.getInt(col);
+		else{
+			s = r.getText(col);
+			h = s.hashCode();
+		}
+		if(size == rows.length){
+			rows = Arrays.copyOf(rows, size * 2);
+			next = Arrays.copyOf(next, size * 2);
+		}
+		rows[size] = r;
+		next[size] = -1;
+		int i = slot(h);
+		while(first[i] != -1){
+			if(intKey ? intKeys[i] == h : (hashes[i] == h && strKeys[i].equals(s))){
+				next[last[i]] = size;
+				last[i] = size++;
+				return;
+			}
+			i = (i + 1) & mask;
+		}
+		first[i] = size;
+		last[i] = size++;
+		if(intKey)
+			intKeys[i] = h;
+		else{
+			strKeys[i] = s;
+			hashes[i] = h;
+		}
+		if(++keys * 2 > first.length)
+			grow();
+	}
+
+	//first row whose key equals column c of r, -1 for none
+	public int find(Record r, int c){
+		if(intKey){
+			int k = r.getInt(c);
+			for(int i = slot(k); first[i] != -1; i = (i + 1) & mask){
+				if(intKeys[i] == k)
+					return first[i];
+			}
+			return -1;
+		}
+		String s = r.getText(c);
+		int h = s.hashCode();
+		for(int i = slot(h); first[i] != -1; i = (i + 1) & mask){
+			if(hashes[i] == h && strKeys[i].equals(s))
+				return first[i];
+		}
+		return -1;
+	}
+
+	//double the slots, keeping every key's chain
+	private void grow(){
+		int[] oFirst = first;
+		int[] oLast = last;
+		int[] oInt = intKeys;
+		String[] oStr = strKeys;
+		int[] oHash = hashes;
+		alloc(oFirst.length * 2);
+		for(int j=0;j<oFirst.length;++j){
+			if(oFirst[j] == -1)
+				continue;
+			int h = intKey ? oInt[j] : oHash[j];
+			int i = slot(h);
+			while(first[i] != -1)
+				i = (i + 1) & mask;
+			first[i] = oFirst[j];
+			last[i] = oLast[j];
+			if(intKey)
+				intKeys[i] = h;
+			else{
+				strKeys[i] = oStr[j];
+				hashes[i] = h;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,48 @@
+package mdb;
+
+//a left and a right record read as one, without copying their values. The
+//right side's join column, which equals a left column, can be left out.
+public class JoinedRecord implements Record {
+	private final Record left;
+	private final Record right;
+	private final int split;
+	//right column left out, -1 for none
+	private final int skip;
+
+	public JoinedRecord(Record left, Record right, int skip){
+		this.left = left;
+		this.right = right;
+		this.split = left.size();
+		this.skip = skip;
+	}
+
+	private int rightCol(int i){
+		int j = i - split;
+		return (skip >= 0 && j >= skip) ? j + 1 : j;
+	}
+
+	public int size(){
+		return split + right.size() - (skip >= 0 ? 1 : 0);
+	}
+
+	public boolean isInt(int i){
+		return i < split ? left.isInt(i) : right.isInt(rightCol(i));
+	}
+
+	public int getInt(int i){
+		return i < split ? left.getInt(i) : right.getInt(rightCol(i));
+	}
+
+	public String getString(int i){
+		return i < split ? left.getString(i) : right.getString(rightCol(i));
+	}
+
+	public int compareString(int i, byte[] val){
+		return i < split ? left.compareString(i, val) : right.compareString(rightCol(i), val);
+	}
+
+	public String getText(int i){
+		return i < split ? left.getText(i) : right.getText(rightCol(i));
+	}
+
+}
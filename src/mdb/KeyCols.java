@@ -0,0 +1,52 @@
+// Automatically generated code.  Edit at your own risk!
+// Generated by bali2jak v2002.09.03.
+
+package mdb;
+import Jakarta.util.*;
+import java.io.*;
+import java.util.*;
+
+public class KeyCols extends Index_key {
+
+    final public static int ARG_LENGTH = 1 ;
+    final public static int TOK_LENGTH = 2 ;
+
+    public void execute () {
+        
+        super.execute();
+    }
+
+    public Field_list getField_list () {
+        
+        return (Field_list) arg [0] ;
+    }
+
+    public AstToken getLP () {
+        
+        return (AstToken) tok [0] ;
+    }
+
+    public AstToken getRP () {
+        
+        return (AstToken) tok [1] ;
+    }
+
+    public boolean[] printorder () {
+        
+        return new boolean[] {true, false, true} ;
+    }
+
+    public KeyCols setParms (AstToken tok0, Field_list arg0, AstToken tok1) {
+        
+        arg = new AstNode [ARG_LENGTH] ;
+        tok = new AstTokenInterface [TOK_LENGTH] ;
+        
+        tok [0] = tok0 ;            /* LP */
+        arg [0] = arg0 ;            /* Field_list */
+        tok [1] = tok1 ;            /* RP */
+        
+        InitChildren () ;
+        return (KeyCols) this ;
+    }
+
+}
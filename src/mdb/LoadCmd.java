@@ -0,0 +1,235 @@
+// Automatically generated code.  Edit at your own risk!
+// Generated by bali2jak v2002.09.03.
+
+package mdb;
+import Jakarta.util.*;
+import static mdb.Main.catalog;
+import static mdb.Main.envmnt;
+import static mdb.Main.isOpen;
+import static mdb.Main.tableIndex;
+
+import java.io.*;
+import java.util.*;
+
+import com.sleepycat.je.Transaction;
+import com.sleepycat.persist.PrimaryIndex;
+
+//load <table> from "<file>"; reads one row per line of a CSV file, or a TSV
+//file if its first line holds a tab. Rows are written in bulk transactions
+//of BATCH rows, apart from the session transaction: a load is committed as
+//it goes and abort does not undo it. Index entries are collected on the way
+//and written at the end, sorted by key.
+public class LoadCmd extends Load {
+
+    final public static int ARG_LENGTH = 1 ;
+    final public static int TOK_LENGTH = 4 ;
+    //rows written per bulk transaction
+    private static final int BATCH = 10000;
+
+    public void execute () {
+    	if(isOpen==1){
+    		execute2();
+    	}
+    	else{
+    		System.out.println("Please open a database first!");
+    	}
+    }
+
+    public void execute2 () {
+    	long starttime = System.currentTimeMillis();
+    	String tableName = getRel_name ().tok[0].getTokenName();
+    	String fileName = getSTRING_LITERAL().getTokenName();
+    	fileName = fileName.substring(1, fileName.length()-1);
+
+    	if(tableIndex.get(tableName)==null){
+    		System.out.println("target table doesn't exist!");
+    		return;
+    	}
+    	List<String> colField = catalog.ColField.get(tableName);
+
+    	BufferedReader in;
+    	try{
+    		in = new BufferedReader(new InputStreamReader(new FileInputStream(fileName), "UTF-8"), 1 << 16);
+    	}catch(IOException e){
+    		System.out.println("can't open " + fileName);
+    		return;
+    	}
+
+    	ArrayList<IndexBuilder> indexes = new ArrayList<IndexBuilder>();
+    	for(int i=0;i<catalog.isIndexed.get(tableName).size();++i){
+    		if(catalog.isIndexed.get(tableName).get(i).equals(true))
+    			indexes.add(new IndexBuilder(tableName, i));
+    	}
+
+    	PrimaryIndex<Long,Tuple> pi = catalog.GetTupleDA(tableName).pIdx;
+    	catalog.RowsChanged(tableName);
+    	long count = 0;
+    	int lineNo = 0;
+    	char sep = 0;
+    	Transaction t = null;
+    	//rows of the open batch, indexed once it commits
+    	ArrayList<Tuple> batch = new ArrayList<Tuple>();
+    	try{
+    		try{
+    			for(String line = in.readLine(); line != null; line = in.readLine()){
+    				lineNo++;
+    				if(line.trim().length() == 0)
+    					continue;
+    				if(sep == 0)
+    					sep = line.indexOf('\t') >= 0 ? '\t' : ',';
+    				ArrayList<String> val = split(line, sep, colField);
+    				if(val.size() != colField.size()){
+    					System.out.println("line " + lineNo + ": wrong number of values!");
+    					continue;
+    				}
+    				Row row;
+    				try{
+    					row = Row.encode(val, colField);
+    				}catch(NumberFormatException e){
+    					System.out.println("line " + lineNo + ": wrong value for int column!");
+    					continue;
+    				}
+
+    				if(t == null)
+    					t = EnvManager.beginBulk();
+    				Tuple tuple = new Tuple();
+    				tuple.setRow(row);
+    				tuple.setTableName(tableName);
+    				//put assigns the row id from the table's sequence
+    				pi.putNoReturn(t, tuple);
+    				batch.add(tuple);
+    				count++;
+    				if(batch.size() == BATCH){
+    					t.commit();
+    					t = null;
+    					index(tableName, batch, indexes);
+    				}
+    			}
+    		}catch(IOException e){
+    			//the rows read so far are kept
+    			System.out.println("error reading " + fileName + ": " + e.getMessage());
+    		}
+    		if(t != null){
+    			t.commit();
+    			t = null;
+    			index(tableName, batch, indexes);
+    		}
+    	}finally{
+    		try{
+    			in.close();
+    		}catch(IOException e){
+    		}
+    		//a write that failed undoes the open batch; the batches committed
+    		//before it keep their rows and still get their index entries
+    		if(t != null)
+    			t.abort();
+    		for(IndexBuilder b : indexes){
+    			b.write(BATCH);
+    		}
+    	}
+    	envmnt.flushLog(true);
+
+    	long endtime = System.currentTimeMillis();
+    	System.out.println(count+" "+"row loaded (time taken ="+ (endtime-starttime) +"ms)" );
+    }
+
+    //collect the index entries of a committed batch and empty it
+    private static void index(String tableName, ArrayList<Tuple> batch, ArrayList<IndexBuilder> indexes){
+    	for(Tuple tuple : batch){
+    		OnlineIndex.logPut(tableName, tuple.getRow(), tuple.getPKey());
+    		for(IndexBuilder b : indexes){
+    			b.add(tuple.getRow(), tuple.getPKey());
+    		}
+    	}
+    	batch.clear();
+    }
+
+    //the values of one line as insert would see them. A field in double
+    //quotes may hold the separator and "" for a quote; str values get the
+    //quotes a string literal keeps.
+    private static ArrayList<String> split(String line, char sep, List<String> colField){
+    	ArrayList<String> val = new ArrayList<String>();
+    	StringBuilder sb = new StringBuilder();
+    	int i = 0;
+    	while(true){
+    		String f;
+    		if(i < line.length() && line.charAt(i) == '"'){
+    			sb.setLength(0);
+    			for(++i; i < line.length(); ++i){
+    				char c = line.charAt(i);
+    				if(c == '"'){
+    					if(i + 1 < line.length() && line.charAt(i+1) == '"')
+    						++i;
+    					else
+    						break;
+    				}
+    				sb.append(c);
+    			}
+    			f = sb.toString();
+    			while(i < line.length() && line.charAt(i) != sep)
+    				++i;
+    		}
+    		else{
+    			int end = line.indexOf(sep, i);
+    			if(end == -1)
+    				end = line.length();
+    			f = line.substring(i, end).trim();
+    			i = end;
+    		}
+    		if(val.size() < colField.size() && colField.get(val.size()).equals("str"))
+    			f = "\"" + f + "\"";
+    		val.add(f);
+    		if(i >= line.length())
+    			return val;
+    		++i;
+    	}
+    }
+
+    public AstToken getFROM () {
+
+        return (AstToken) tok [1] ;
+    }
+
+    public AstToken getLOAD () {
+
+        return (AstToken) tok [0] ;
+    }
+
+    public Rel_name getRel_name () {
+
+        return (Rel_name) arg [0] ;
+    }
+
+    public AstToken getSEMI () {
+
+        return (AstToken) tok [3] ;
+    }
+
+    public AstToken getSTRING_LITERAL () {
+
+        return (AstToken) tok [2] ;
+    }
+
+    public boolean[] printorder () {
+
+        return new boolean[] {true, false, true, true, true} ;
+    }
+
+    public LoadCmd setParms
+    (AstToken tok0, Rel_name arg0, AstToken tok1, AstToken tok2, AstToken tok3)
+    {
+
+        arg = new AstNode [ARG_LENGTH] ;
+        tok = new AstTokenInterface [TOK_LENGTH] ;
+
+        tok [0] = tok0 ;            /* LOAD */
+        arg [0] = arg0 ;            /* Rel_name */
+        tok [1] = tok1 ;            /* FROM */
+        tok [2] = tok2 ;            /* STRING_LITERAL */
+        tok [3] = tok3 ;            /* SEMI */
+
+        InitChildren () ;
+        return (LoadCmd) this ;
+    }
+
+}
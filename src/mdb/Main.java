@@ -33,6 +33,7 @@ import java.util.EmptyStackException;
 import java.util.Vector;
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 import com.sleepycat.je.Environment;
 import com.sleepycat.je.Transaction;
@@ -66,9 +67,19 @@ public class Main {
     
     
     
-    static ArrayList<Environment> envmnt = new ArrayList<Environment>();
+    static Environment envmnt = null;
 	static ArrayList<EntityStore> store = new ArrayList<EntityStore>();
-	static ArrayList<Transaction> txn = new ArrayList<Transaction>();
+	//session transaction shared by every table and index store
+	static Transaction txn = null;
+	//heap a join may use for its hash table before it spills to disk (-m)
+	static long joinMemory = 64L * 1024 * 1024;
+	//threads a query may use (-p), 1 runs everything on the caller
+	static int parallelism = 1;
+	//full table scans of a select read in log order (-d)
+	static boolean diskOrdered = false;
+	//index is built on a background thread while later statements run (-o)
+	static boolean onlineIndex = false;
+	private static ForkJoinPool workers = null;
 
     final public static String packageName =  Main.getPackageName() ;
 
@@ -245,6 +256,29 @@ public class Main {
                         i++;
                         break;
                     }
+                    else if ( args[i].charAt( j ) == 'm' && i+1 < argc ) {
+                        joinMemory = parseSize( args[i+1] );
+                        if ( joinMemory <= 0 )
+                            usage();
+                        i++;
+                        break;
+                    }
+                    else if ( args[i].charAt( j ) == 'd' )
+                        diskOrdered = true;
+                    else if ( args[i].charAt( j ) == 'o' )
+                        onlineIndex = true;
+                    else if ( args[i].charAt( j ) == 'p' && i+1 < argc ) {
+                        try {
+                            parallelism = Integer.parseInt( args[i+1] );
+                        }
+                        catch ( NumberFormatException e ) {
+                            parallelism = 0;
+                        }
+                        if ( parallelism <= 0 )
+                            usage();
+                        i++;
+                        break;
+                    }
                     else
                         usage();
                 }
@@ -357,6 +391,7 @@ public class Main {
                 continue; // go to next $(LanguageName) statement
             }
             
+            OnlineIndex.poll();
             root.execute();
             input = "";
             
@@ -408,6 +443,7 @@ public class Main {
                         continue; // go to next $(LanguageName) statement
                     }
                     
+                    OnlineIndex.poll();
                     root.execute();
                     
          	   }
@@ -469,11 +505,38 @@ public class Main {
     }
     protected static void usage() {
         System.err.println( "Usage: java " + "$TEqn" +
-               ".Main [-f file]" );
+               ".Main [-f file] [-m size] [-p threads] [-d] [-o]" );
         System.err.println( "       -f for input from file" );
+        System.err.println( "       -m memory per join before it spills to disk, e.g. 64m (default)" );
+        System.err.println( "       -p threads a query may use, 1 (default) runs serially" );
+        System.err.println( "       -d select reads whole tables in disk order, not key order" );
+        System.err.println( "       -o index builds run in the background while later statements run" );
         System.exit( -10 );
     }
 
+    //pool of parallelism threads shared by all parallel operators
+    static synchronized ForkJoinPool workers() {
+        if ( workers == null )
+            workers = new ForkJoinPool( parallelism );
+        return workers;
+    }
+
+    //a byte count with an optional k, m or g suffix; -1 if malformed
+    static long parseSize( String s ) {
+        long unit = 1;
+        char last = Character.toLowerCase( s.charAt( s.length()-1 ) );
+        if ( last == 'k' || last == 'm' || last == 'g' ) {
+            unit = ( last == 'k' ) ? 1L << 10 : ( last == 'm' ) ? 1L << 20 : 1L << 30;
+            s = s.substring( 0, s.length()-1 );
+        }
+        try {
+            return Long.parseLong( s ) * unit;
+        }
+        catch ( NumberFormatException e ) {
+            return -1;
+        }
+    }
+
     protected List extraArgs = null ;
 
     //**************************************************
@@ -0,0 +1,184 @@
+package mdb;
+
+import static mdb.Main.catalog;
+import static mdb.Main.txn;
+
+import java.util.ArrayList;
+
+import com.sleepycat.je.CursorConfig;
+import com.sleepycat.je.LockMode;
+import com.sleepycat.persist.PrimaryIndex;
+
+//sort-merge join of two tables whose join columns are both indexed. Both
+//column indexes are walked in key order side by side; for every key present
+//on both sides the right table's rows of that key are read into a run and
+//joined with each left row of the key. Memory is bounded by the longest run
+//instead of a whole table. Output columns are the left columns followed by
+//the right columns without the right join column.
+public class MergeJoin extends RowSource {
+	private final Side left;
+	private final Side right;
+	//right rows of the current key, null between keys
+	private ArrayList<Record> run;
+	private Object runKey;
+	private Record cur;
+	private int m;
+
+	//leftRows and rightRows: rows expected from each table after its WHERE
+	//clauses, the estimates of the scans the join stands in for
+	public MergeJoin(String leftTable, int leftCol, Predicate leftWhere, long leftRows,
+			String rightTable, int rightCol, Predicate rightWhere, long rightRows){
+		this.left = new Side(leftTable, leftCol, leftWhere, leftRows);
+		this.right = new Side(rightTable, rightCol, rightWhere, rightRows);
+		int lw = catalog.ColInfo.get(leftTable).size();
+		int rw = catalog.ColInfo.get(rightTable).size();
+		tables = new String[lw + rw - 1];
+		columns = new String[lw + rw - 1];
+		types = new String[lw + rw - 1];
+		int k = 0;
+		for(int i=0;i<lw;++i,++k){
+			tables[k] = leftTable;
+			columns[k] = catalog.ColInfo.get(leftTable).get(i);
+			types[k] = catalog.ColField.get(leftTable).get(i);
+		}
+		for(int i=0;i<rw;++i){
+			if(i == rightCol)
+				continue;
+			tables[k] = rightTable;
+			columns[k] = catalog.ColInfo.get(rightTable).get(i);
+			types[k] = catalog.ColField.get(rightTable).get(i);
+			++k;
+		}
+	}
+
+	//both join columns are indexed and have the same type
+	public static boolean usable(String leftTable, int leftCol, String rightTable, int rightCol){
+		return catalog.isIndexed.get(leftTable).get(leftCol)
+				&& catalog.isIndexed.get(rightTable).get(rightCol)
+				&& catalog.ColField.get(leftTable).get(leftCol).equals(catalog.ColField.get(rightTable).get(rightCol));
+	}
+
+	public void open(){
+		left.open();
+		right.open();
+		run = null;
+	}
+
+	public Record next(){
+		while(true){
+			if(run != null){
+				if(cur != null && m < run.size())
+					return new JoinedRecord(cur, run.get(m++), right.col);
+				cur = left.nextInRun(runKey);
+				m = 0;
+				if(cur != null)
+					continue;
+				run = null;
+			}
+			if(left.head == null || right.head == null)
+				return null;
+			int c = Row.compareValues(left.key(), right.key());
+			if(c < 0)
+				left.advance();
+			else if(c > 0)
+				right.advance();
+			else{
+				runKey = left.key();
+				run = right.readRun(runKey);
+				if(run.isEmpty()){
+					left.skipRun(runKey);
+					run = null;
+				}
+				cur = null;
+			}
+		}
+	}
+
+	//rows are not filtered by the join, so the larger side bounds it
+	public long estimate(){
+		return Math.max(left.size, right.size);
+	}
+
+	public void close(){
+		left.close();
+		right.close();
+		run = null;
+	}
+
+	//one table read in the order of its join column index
+	private class Side {
+		final String table;
+		final int col;
+		final Predicate where;
+		final long size;
+		private IndexTupleDA.Range cursor;
+		private PrimaryIndex<Long,Tuple> pIdx;
+		//value of the entry under the cursor, null at the end
+		Object head;
+
+		Side(String table, int col, Predicate where, long size){
+			this.table = table;
+			this.col = col;
+			this.where = where;
+			this.size = size;
+		}
+
+		void open(){
+			CursorConfig config = new CursorConfig();
+			config.setReadUncommitted(true);
+			IndexTupleDA ida = catalog.GetIndexDA(table, col);
+			pIdx = catalog.GetTupleDA(table).pIdx;
+			cursor = ida.open(txn, new Object[0], null, true, null, true, config);
+			advance();
+		}
+
+		Object key(){
+			return head;
+		}
+
+		void advance(){
+			head = cursor.next() ? cursor.value() : null;
+		}
+
+		//base row of head if it passes the table's WHERE clauses
+		private Row fetch(){
+			Tuple t = pIdx.get(txn, cursor.rowId(), LockMode.READ_UNCOMMITTED);
+			if(t == null || !where.eval(t.getRow()))
+				return null;
+			return t.getRow();
+		}
+
+		//the next row of key k, null once the key's entries are used up
+		Record nextInRun(Object k){
+			while(head != null && key().equals(k)){
+				Row r = fetch();
+				advance();
+				if(r != null)
+					return r;
+			}
+			return null;
+		}
+
+		ArrayList<Record> readRun(Object k){
+			ArrayList<Record> rows = new ArrayList<Record>();
+			for(Record r = nextInRun(k); r != null; r = nextInRun(k)){
+				rows.add(r);
+			}
+			return rows;
+		}
+
+		void skipRun(Object k){
+			while(head != null && key().equals(k))
+				advance();
+		}
+
+		void close(){
+			if(cursor != null){
+				cursor.close();
+				cursor = null;
+			}
+			head = null;
+		}
+	}
+
+}
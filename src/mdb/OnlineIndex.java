@@ -0,0 +1,189 @@
+package mdb;
+
+import static mdb.Main.catalog;
+import static mdb.Main.envmnt;
+import static mdb.Main.txn;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import com.sleepycat.je.CursorConfig;
+import com.sleepycat.persist.EntityCursor;
+
+//an index built on a background thread (-o) while the session goes on. The
+//thread reads the table uncommitted and bulk loads the sorted entries like
+//EnvManager.buildIndex. Until it is done the column is not marked indexed,
+//so nothing reads the index and writers to the table log their index
+//changes here instead of making them. Once the thread is done the log is
+//replayed in order within the session transaction and the column is marked
+//indexed. Replay is safe whichever version of a row the scan saw: every
+//entry carries its row id, putting an entry that is already there or
+//deleting one that is not changes nothing. A build finishes before the
+//first statement after its thread is done and at the latest on commit; an
+//abort or close waits for the thread and drops the index like any other
+//uncommitted one.
+public class OnlineIndex {
+	//builds whose column is not marked indexed yet, in start order
+	private static final ArrayList<OnlineIndex> building = new ArrayList<OnlineIndex>();
+
+	final String tableName;
+	final int pos;
+	private final IndexTupleDA ida;
+	private final Thread thread;
+	private volatile boolean cancelled = false;
+	private volatile Throwable failure = null;
+	//index changes made to the table since the build started
+	private final ArrayList<Change> log = new ArrayList<Change>();
+
+	private static class Change {
+		final boolean put;
+		final byte[] key;
+		final byte[] data;
+
+		Change(boolean put, byte[] key, byte[] data){
+			this.put = put;
+			this.key = key;
+			this.data = data;
+		}
+	}
+
+	private OnlineIndex(String tableName, int pos){
+		this.tableName = tableName;
+		this.pos = pos;
+		this.ida = catalog.GetIndexDA(tableName, pos);
+		this.thread = new Thread(new Runnable(){
+			public void run(){
+				try{
+					build();
+				}catch(Throwable e){
+					failure = e;
+				}
+			}
+		}, "index " + tableName + "." + catalog.ColInfo.get(tableName).get(pos));
+		thread.setDaemon(true);
+	}
+
+	//start filling an opened, empty index. Writers log from here on, so no
+	//write the scan misses is lost.
+	public static void start(String tableName, int pos){
+		OnlineIndex b = new OnlineIndex(tableName, pos);
+		building.add(b);
+		b.thread.start();
+	}
+
+	public static boolean isBuilding(String tableName, int pos){
+		return find(tableName, pos) != null;
+	}
+
+	private static OnlineIndex find(String tableName, int pos){
+		for(OnlineIndex b : building){
+			if(b.tableName.equals(tableName) && b.pos == pos)
+				return b;
+		}
+		return null;
+	}
+
+	private void build(){
+		IndexBuilder b = new IndexBuilder(tableName, pos);
+		CursorConfig config = new CursorConfig();
+		config.setReadUncommitted(true);
+		EntityCursor<Tuple> c = catalog.GetTupleDA(tableName).pIdx.entities(null, config);
+		try{
+			for(Tuple t : c){
+				if(cancelled)
+					return;
+				b.add(t.getRow(), t.getPKey());
+			}
+		}finally{
+			c.close();
+		}
+		b.write(EnvManager.BUILD_BATCH);
+		envmnt.flushLog(true);
+	}
+
+	//a row was inserted into tableName
+	public static void logPut(String tableName, Row row, long id){
+		for(OnlineIndex b : building){
+			if(b.tableName.equals(tableName))
+				b.log.add(new Change(true, b.ida.key(row), b.ida.data(row, id)));
+		}
+	}
+
+	//a row was deleted from tableName
+	public static void logDelete(String tableName, Row row, long id){
+		for(OnlineIndex b : building){
+			if(b.tableName.equals(tableName))
+				b.log.add(new Change(false, b.ida.key(row), b.ida.data(row, id)));
+		}
+	}
+
+	//a row of tableName changed from old to row
+	public static void logUpdate(String tableName, long id, Row old, Row row){
+		for(OnlineIndex b : building){
+			if(!b.tableName.equals(tableName))
+				continue;
+			byte[] oldKey = b.ida.key(old);
+			byte[] oldData = b.ida.data(old, id);
+			byte[] key = b.ida.key(row);
+			byte[] data = b.ida.data(row, id);
+			if(Arrays.equals(oldKey, key) && Arrays.equals(oldData, data))
+				continue;
+			b.log.add(new Change(false, oldKey, oldData));
+			b.log.add(new Change(true, key, data));
+		}
+	}
+
+	//finish the builds whose thread is done, called before every statement
+	public static void poll(){
+		for(OnlineIndex b : new ArrayList<OnlineIndex>(building)){
+			if(!b.thread.isAlive())
+				b.finish();
+		}
+	}
+
+	//wait for every build and finish it, before a commit
+	public static void finishAll(){
+		for(OnlineIndex b : new ArrayList<OnlineIndex>(building)){
+			b.finish();
+		}
+	}
+
+	//stop the build of an index about to be dropped and forget its log
+	public static void cancel(String tableName, int pos){
+		OnlineIndex b = find(tableName, pos);
+		if(b == null)
+			return;
+		b.cancelled = true;
+		b.join();
+		building.remove(b);
+	}
+
+	private void join(){
+		while(true){
+			try{
+				thread.join();
+				return;
+			}catch(InterruptedException e){
+			}
+		}
+	}
+
+	private void finish(){
+		join();
+		building.remove(this);
+		String name = tableName + "." + catalog.ColInfo.get(tableName).get(pos);
+		if(failure != null){
+			System.out.println("Error building index for " + name + ": " + failure);
+			EnvManager.dropIndex(tableName, pos);
+			return;
+		}
+		for(Change c : log){
+			if(c.put)
+				ida.put(txn, c.key, c.data);
+			else
+				ida.delete(txn, c.key, c.data);
+		}
+		catalog.isIndexed.get(tableName).set(pos, true);
+	}
+
+}
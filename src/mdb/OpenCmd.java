@@ -16,10 +16,7 @@ import java.io.*;
 import java.util.*;
 
 import com.sleepycat.je.Environment;
-import com.sleepycat.je.EnvironmentConfig;
-import com.sleepycat.je.Transaction;
 import com.sleepycat.persist.EntityStore;
-import com.sleepycat.persist.StoreConfig;
 
 import java.io.EOFException;
 import java.io.File;
@@ -67,6 +64,10 @@ public class OpenCmd extends Open {
    	   	   				catalog.ColInfo = ((StartData)obj).getColInfo();
    	   	   				catalog.TableName = ((StartData)obj).getTableName();
    	   	   				catalog.isIndexed = ((StartData)obj).GetIsIndexed();
+   	   	   				if(((StartData)obj).getIndexKeys() != null){
+   	   	   					catalog.indexKeys = ((StartData)obj).getIndexKeys();
+   	   	   					catalog.indexInclude = ((StartData)obj).getIndexInclude();
+   	   	   				}
    	   	   			}
    	   	   		}
    	   	   	}catch (EOFException ex) { 
@@ -89,52 +90,25 @@ public class OpenCmd extends Open {
    	        }
    	   	   	
    	   	   	
+   	   	   	EnvManager.open(dbName);
    	   	   	for(int i=0;i<catalog.TableName.size();++i){
    	   	   		String tableName = catalog.TableName.get(i);
-   	   	   		File envHome = null;
    	   	   		
-   	   	   		envHome = new File("./DataBase/"+dbName+"/db",tableName);
-   	   	   		
-   	   	   		EnvironmentConfig envConfig = new EnvironmentConfig();
-   	   	   		StoreConfig storeConfig = new StoreConfig();
-   	   	   		envConfig.setAllowCreate(true);
-   	   	   		envConfig.setTransactional(true);
-   	   	   		storeConfig.setAllowCreate(true);
-   	   	   		storeConfig.setTransactional(true);
-   	   	   		//envConfig.setTxnTimeout(10000, TimeUnit.MILLISECONDS);
-   	   	   		//envConfig.setLockTimeout(10000, TimeUnit.MILLISECONDS);
-     	   
-   	   	   		envmnt.add(new Environment(envHome, envConfig));
-   	   	   		store.add(new EntityStore(envmnt.get(i), tableName, storeConfig));
-   	   	   		txn.add(i, envmnt.get(i).beginTransaction(null, null));
-   	   	   		
-   	   	   		if(catalog.indexEnv.get(tableName)==null){
-   	   	   			catalog.indexEnv.put(tableName,new ArrayList<Environment>() );
-   	   	   		}
-     	 
-   	   	   		if(catalog.indexStore.get(tableName)==null){
-   	   	   			catalog.indexStore.put(tableName,new ArrayList<EntityStore>() );
-   	   	   		}
-     	
-   	   	   		if(catalog.indexTxn.get(tableName)==null){
-   	   	   			catalog.indexTxn.put(tableName,new ArrayList<Transaction>() );
-   	   	   		}
+   	   	   		store.add(EnvManager.openTableStore(tableName));
+   	   	   		catalog.SetTableStore(tableName, store.get(i));
+   	   	   		//a table of the old one environment per table layout
+   	   	   		boolean migrated = EnvManager.migrateOldTable(dbName, tableName);
    	   	   		
    	   	   		for(int j = 0;j<catalog.ColInfo.get(tableName).size();++j){
-   	   	   			EnvironmentConfig envConfig2 = new EnvironmentConfig();
-   	   	   			StoreConfig storeConfig2 = new StoreConfig();
-   	   	   			envConfig2.setAllowCreate(true);
-   	   	   			envConfig2.setTransactional(true);
-   	   	   			storeConfig2.setAllowCreate(true);
-   	   	   			storeConfig2.setTransactional(true);
-       	   
-   	   	   			String colName = catalog.ColInfo.get(tableName).get(j);
-   	   	   			envHome = new File("./DataBase/"+dbName+"/dbIndex/"+tableName,"Index "+" "+colName);
-   	   	   			
-   	   	   			catalog.addEnvHome(tableName, envHome);	
-   	   	   			catalog.indexEnv.get(tableName).add(new Environment(envHome,envConfig2));
-   	   	   			catalog.indexStore.get(tableName).add(new EntityStore(catalog.indexEnv.get(tableName).get(j), tableName, storeConfig2));
-   	   	   			catalog.indexTxn.get(tableName).add(catalog.indexEnv.get(tableName).get(j).beginTransaction(null, null));
+   	   	   			catalog.InitialIndexStore(tableName);
+   	   	   			if(catalog.isIndexed.get(tableName).get(j).equals(true)){
+   	   	   				EnvManager.openIndex(tableName, j);
+   	   	   				if(migrated)
+   	   	   					EnvManager.buildIndex(tableName, j);
+   	   	   			}
+   	   	   			else{
+   	   	   				EnvManager.dropUnlistedIndex(tableName, j);
+   	   	   			}
    	   	   		}
    	   	   	}
    	   	   	
@@ -142,6 +116,9 @@ public class OpenCmd extends Open {
    	   		
    	   		
    	   	}
+   	   	if(envmnt == null)
+   	   		EnvManager.open(dbName);
+   	   	txn = envmnt.beginTransaction(null, null);
    	   	isOpen = 1;
    	   	
    	
@@ -0,0 +1,158 @@
+package mdb;
+
+import static mdb.Main.catalog;
+import static mdb.Main.parallelism;
+import static mdb.Main.txn;
+import static mdb.Main.workers;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+import com.sleepycat.je.CursorConfig;
+import com.sleepycat.persist.EntityCursor;
+import com.sleepycat.persist.PrimaryIndex;
+
+//a TableScan split over -p threads. Row ids come from a sequence, so the
+//span between the first and last id is cut into equal ranges. The ranges are
+//read in rounds: every range still open reads up to CHUNK rows with its own
+//cursor in a fork/join task and checks them against the WHERE clauses, then
+//the rows that passed are handed out in range order. A round reads about
+//the same number of rows per task however unevenly deletes thinned the
+//ranges, and memory stays bounded by one round. Rows do not come out in row
+//id order.
+public class ParallelScan extends RowSource {
+	//rows one range reads per round
+	static final int CHUNK = 1024;
+	//ranges per thread, so a thread whose ranges are done can take others
+	static final int RANGES_PER_THREAD = 4;
+
+	private final String tableName;
+	private final Predicate where;
+	//next row id of each range and its exclusive end; a range is done when
+	//they meet
+	private long[] from;
+	private long[] to;
+	private ArrayList<Tuple> batch;
+	private int b;
+
+	//what one range read in a round
+	private static class Chunk {
+		final ArrayList<Tuple> rows = new ArrayList<Tuple>();
+		//last row id read
+		long last;
+	}
+
+	public ParallelScan(String tableName, Predicate where){
+		this.tableName = tableName;
+		this.where = where;
+		tableSchema(tableName);
+	}
+
+	public void open(){
+		CursorConfig config = new CursorConfig();
+		config.setReadUncommitted(true);
+		EntityCursor<Long> keys = catalog.GetTupleDA(tableName).pIdx.keys(txn, config);
+		long lo;
+		long hi;
+		try{
+			Long first = keys.first();
+			if(first == null){
+				from = to = new long[0];
+				batch = null;
+				return;
+			}
+			lo = first;
+			hi = keys.last() + 1;
+		}finally{
+			keys.close();
+		}
+		int n = (int) Math.max(1, Math.min(parallelism * RANGES_PER_THREAD, (hi - lo) / CHUNK));
+		from = new long[n];
+		to = new long[n];
+		for(int i=0;i<n;++i){
+			from[i] = lo + (hi - lo) * i / n;
+			to[i] = lo + (hi - lo) * (i + 1) / n;
+		}
+		batch = null;
+	}
+
+	public Record next(){
+		while(batch == null || b == batch.size()){
+			if(!nextRound())
+				return null;
+		}
+		return batch.get(b++).getRow();
+	}
+
+	//every tuple of the table that passes where, for delete and update
+	public ArrayList<Tuple> fetch(){
+		ArrayList<Tuple> res = new ArrayList<Tuple>();
+		open();
+		while(nextRound()){
+			res.addAll(batch);
+		}
+		close();
+		return res;
+	}
+
+	//read the next CHUNK rows of every open range, false once all are done
+	private boolean nextRound(){
+		final PrimaryIndex<Long,Tuple> pIdx = catalog.GetTupleDA(tableName).pIdx;
+		ForkJoinPool pool = workers();
+		ArrayList<Integer> live = new ArrayList<Integer>();
+		ArrayList<ForkJoinTask<Chunk>> tasks = new ArrayList<ForkJoinTask<Chunk>>();
+		for(int i=0;i<from.length;++i){
+			if(from[i] >= to[i])
+				continue;
+			final long lo = from[i];
+			final long hi = to[i];
+			live.add(i);
+			tasks.add(pool.submit(new RecursiveTask<Chunk>(){
+				protected Chunk compute(){
+					CursorConfig config = new CursorConfig();
+					config.setReadUncommitted(true);
+					Chunk res = new Chunk();
+					//a range read to its end
+					res.last = hi - 1;
+					EntityCursor<Tuple> c = pIdx.entities(txn, lo, true, hi, false, config);
+					try{
+						int k = 0;
+						for(Tuple t = c.next(); t != null; t = c.next()){
+							if(where.eval(t.getRow()))
+								res.rows.add(t);
+							if(++k == CHUNK){
+								res.last = t.getPKey();
+								break;
+							}
+						}
+					}finally{
+						c.close();
+					}
+					return res;
+				}
+			}));
+		}
+		if(tasks.isEmpty())
+			return false;
+		batch = new ArrayList<Tuple>();
+		for(int i=0;i<tasks.size();++i){
+			Chunk res = tasks.get(i).join();
+			from[live.get(i)] = res.last + 1;
+			batch.addAll(res.rows);
+		}
+		b = 0;
+		return true;
+	}
+
+	public long estimate(){
+		return (long) Math.ceil(catalog.GetRowEstimate(tableName) * where.selectivity());
+	}
+
+	public void close(){
+		from = to = new long[0];
+		batch = null;
+	}
+
+}
@@ -0,0 +1,264 @@
+package mdb;
+
+import static mdb.Main.catalog;
+
+import java.util.ArrayList;
+import java.util.List;
+
+//a WHERE clause compiled against one table. Column ordinals, comparison
+//operators and typed constants are resolved once per statement, eval() is
+//then called for every row without touching the AST or the catalog.
+public abstract class Predicate {
+	public static final int EQ = 0;
+	public static final int NE = 1;
+	public static final int LT = 2;
+	public static final int LE = 3;
+	public static final int GT = 4;
+	public static final int GE = 5;
+
+	public static final Predicate TRUE = new Predicate(){
+		public boolean eval(Record r){
+			return true;
+		}
+
+		public List<Predicate> conjuncts(){
+			return new ArrayList<Predicate>();
+		}
+
+		public double selectivity(){
+			return 1;
+		}
+	};
+
+	//textbook defaults, used where no index range was counted
+	static final double EQ_SELECTIVITY = 0.1;
+	static final double RANGE_SELECTIVITY = 1.0 / 3;
+
+	public abstract boolean eval(Record r);
+
+	//fraction of rows expected to pass
+	public double selectivity(){
+		return RANGE_SELECTIVITY;
+	}
+
+	//the terms that must all hold, used by the planner to find index ranges
+	public List<Predicate> conjuncts(){
+		ArrayList<Predicate> list = new ArrayList<Predicate>();
+		list.add(this);
+		return list;
+	}
+
+	public static int op(String cmp){
+		if(cmp.equals("="))
+			return EQ;
+		if(cmp.equals("!"))
+			return NE;
+		if(cmp.equals("<"))
+			return LT;
+		if(cmp.equals("<="))
+			return LE;
+		if(cmp.equals(">"))
+			return GT;
+		if(cmp.equals(">="))
+			return GE;
+		throw new IllegalArgumentException("Unknown comparison " + cmp);
+	}
+
+	//c is the result of comparing the column value with the constant
+	static boolean holds(int op, int c){
+		switch(op){
+		case EQ: return c == 0;
+		case NE: return c != 0;
+		case LT: return c < 0;
+		case LE: return c <= 0;
+		case GT: return c > 0;
+		default: return c >= 0;
+		}
+	}
+
+	public static Predicate compare(String tableName, String colName, String cmp, String val){
+		int col = catalog.ColInfo.get(tableName).indexOf(colName);
+		if(col == -1)
+			throw new IllegalArgumentException("Wrong column name!");
+		if(catalog.ColField.get(tableName).get(col).equals("int")){
+			int v;
+			try{
+				v = Integer.parseInt(val);
+			}catch(NumberFormatException e){
+				throw new IllegalArgumentException("wrong value for int column!");
+			}
+			return new IntCompare(col, op(cmp), v);
+		}
+		return new StrCompare(col, op(cmp), val);
+	}
+
+	public static Predicate and(List<Predicate> list){
+		if(list.isEmpty())
+			return TRUE;
+		if(list.size() == 1)
+			return list.get(0);
+		return new And(list.toArray(new Predicate[list.size()]));
+	}
+
+	//One_rel_pred of delete and update, all clauses are on tableName
+	public static Predicate compileOneRel(AstNode clause, String tableName){
+		ArrayList<Predicate> list = new ArrayList<Predicate>();
+		while(clause != null){
+			list.add(compare(tableName, clause.arg[0].arg[0].tok[0].getTokenName(),
+					clause.arg[0].arg[1].tok[0].getTokenName(),
+					clause.arg[0].arg[2].tok[0].getTokenName()));
+			clause = clause.right;
+		}
+		return and(list);
+	}
+
+	//the SimpleClauses of a select's WherePred that are on tableName.
+	//JoinClauses and clauses on other tables are skipped.
+	public static Predicate compileWhere(AstNode clause, String tableName, List<String> tables){
+		ArrayList<Predicate> list = new ArrayList<Predicate>();
+		while(clause != null){
+			if(clause.arg[0].className().equals("SimpleClause")
+					&& tableName.equals(clauseTable(clause.arg[0].arg[0], tables))){
+				list.add(compare(tableName, clauseColumn(clause.arg[0].arg[0]),
+						clause.arg[0].arg[1].tok[0].getTokenName(),
+						clause.arg[0].arg[2].tok[0].getTokenName()));
+			}
+			clause = clause.right;
+		}
+		return and(list);
+	}
+
+	//table of a FieldName or RelDotField; an unqualified name belongs to the
+	//last table in the from list that has such a column
+	public static String clauseTable(AstNode field, List<String> tables){
+		if(field.className().equals("RelDotField"))
+			return field.arg[0].tok[0].getTokenName();
+		String s = "";
+		String colName = field.tok[0].getTokenName();
+		for(String t : tables){
+			if(catalog.ColInfo.get(t).contains(colName))
+				s = t;
+		}
+		return s;
+	}
+
+	public static String clauseColumn(AstNode field){
+		if(field.className().equals("RelDotField"))
+			return field.arg[1].tok[0].getTokenName();
+		return field.tok[0].getTokenName();
+	}
+
+	//column op constant
+	static abstract class Compare extends Predicate {
+		final int col;
+		final int op;
+
+		Compare(int col, int op){
+			this.col = col;
+			this.op = op;
+		}
+
+		//the constant as an index key, Integer or String
+		abstract Object key();
+
+		public double selectivity(){
+			if(op == EQ)
+				return EQ_SELECTIVITY;
+			if(op == NE)
+				return 1 - EQ_SELECTIVITY;
+			return RANGE_SELECTIVITY;
+		}
+	}
+
+	static class IntCompare extends Compare {
+		final int val;
+
+		IntCompare(int col, int op, int val){
+			super(col, op);
+			this.val = val;
+		}
+
+		Object key(){
+			return val;
+		}
+
+		public boolean eval(Record r){
+			int v = r.getInt(col);
+			return holds(op, v < val ? -1 : (v == val ? 0 : 1));
+		}
+	}
+
+	static class StrCompare extends Compare {
+		final String text;
+		final byte[] val;
+
+		StrCompare(int col, int op, String text){
+			super(col, op);
+			this.text = text;
+			this.val = Row.utf8(text);
+		}
+
+		Object key(){
+			return text;
+		}
+
+		public boolean eval(Record r){
+			return holds(op, r.compareString(col, val));
+		}
+	}
+
+	//two columns of the same record hold the same value, for join clauses
+	//whose tables are already joined
+	static class ColumnsEqual extends Predicate {
+		final int a;
+		final int b;
+
+		ColumnsEqual(int a, int b){
+			this.a = a;
+			this.b = b;
+		}
+
+		public boolean eval(Record r){
+			if(r.isInt(a) && r.isInt(b))
+				return r.getInt(a) == r.getInt(b);
+			return r.getText(a).equals(r.getText(b));
+		}
+
+		public double selectivity(){
+			return EQ_SELECTIVITY;
+		}
+	}
+
+	static class And extends Predicate {
+		final Predicate[] terms;
+
+		And(Predicate[] terms){
+			this.terms = terms;
+		}
+
+		public boolean eval(Record r){
+			for(int i=0;i<terms.length;++i){
+				if(!terms[i].eval(r))
+					return false;
+			}
+			return true;
+		}
+
+		public List<Predicate> conjuncts(){
+			ArrayList<Predicate> list = new ArrayList<Predicate>();
+			for(Predicate p : terms){
+				list.addAll(p.conjuncts());
+			}
+			return list;
+		}
+
+		public double selectivity(){
+			double s = 1;
+			for(Predicate p : terms){
+				s *= p.selectivity();
+			}
+			return s;
+		}
+	}
+
+}
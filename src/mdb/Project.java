@@ -0,0 +1,70 @@
+package mdb;
+
+//the columns of a select list, in select list order
+public class Project extends RowSource {
+	private final RowSource in;
+	private final int[] cols;
+
+	public Project(RowSource in, int[] cols){
+		this(in, cols, null, null);
+	}
+
+	//names the output columns tables[i].columns[i] instead of after the input
+	//column, for a join column that stands in for the one it was equal to
+	public Project(RowSource in, int[] cols, String[] tables, String[] columns){
+		this.in = in;
+		this.cols = cols;
+		this.tables = new String[cols.length];
+		this.columns = new String[cols.length];
+		types = new String[cols.length];
+		for(int i=0;i<cols.length;++i){
+			this.tables[i] = tables != null ? tables[i] : in.tables[cols[i]];
+			this.columns[i] = columns != null ? columns[i] : in.columns[cols[i]];
+			types[i] = in.types[cols[i]];
+		}
+	}
+
+	public void open(){
+		in.open();
+	}
+
+	public Record next(){
+		final Record r = in.next();
+		if(r == null)
+			return null;
+		return new Record(){
+			public int size(){
+				return cols.length;
+			}
+
+			public boolean isInt(int i){
+				return r.isInt(cols[i]);
+			}
+
+			public int getInt(int i){
+				return r.getInt(cols[i]);
+			}
+
+			public String getString(int i){
+				return r.getString(cols[i]);
+			}
+
+			public int compareString(int i, byte[] val){
+				return r.compareString(cols[i], val);
+			}
+
+			public String getText(int i){
+				return r.getText(cols[i]);
+			}
+		};
+	}
+
+	public long estimate(){
+		return in.estimate();
+	}
+
+	public void close(){
+		in.close();
+	}
+
+}
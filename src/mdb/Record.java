@@ -0,0 +1,20 @@
+package mdb;
+
+//one row flowing through the select pipeline: a stored Row, or a view over
+//the rows a join put together
+public interface Record {
+	int size();
+
+	boolean isInt(int i);
+
+	int getInt(int i);
+
+	String getString(int i);
+
+	//compare a str column with a UTF-8 encoded value, in the order of
+	//Row.compareStrings
+	int compareString(int i, byte[] val);
+
+	//column value as it is printed
+	String getText(int i);
+}
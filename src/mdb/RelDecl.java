@@ -10,18 +10,11 @@ import java.io.*;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
 
-import com.sleepycat.je.Environment;
-import com.sleepycat.je.EnvironmentConfig;
-import com.sleepycat.je.Transaction;
-import com.sleepycat.persist.EntityStore;
-import com.sleepycat.persist.StoreConfig;
 
 import static mdb.Main.isOpen;
 import static mdb.Main.tableCount;
 import static mdb.Main.tableIndex;
 import static mdb.Main.store;
-import static mdb.Main.envmnt;
-import static mdb.Main.txn;
 import static mdb.Main.unCommittedTable;
 
 public class RelDecl extends Decl_rel {
@@ -43,12 +36,12 @@ public class RelDecl extends Decl_rel {
         
         //super.execute();
     	 String tableName = getRel_name().tok[0].getTokenName();
-    	 unCommittedTable.add(tableName);
     	 
     	 
          if(!catalog.FindTable(tableName)){
            //System.out.println("haha~");
       	   catalog.AddTable(tableName);
+      	   unCommittedTable.add(tableName);
       	   
       	   tableIndex.put(tableName, tableCount);
       	   tableCount++;
@@ -57,27 +50,8 @@ public class RelDecl extends Decl_rel {
       	   if(!envHome.exists())
       		   envHome.mkdirs();
       	   
-      	   envHome = new File("./DataBase/"+dbName+"/db",tableName);
-      	   if(!envHome.exists())
-      		   envHome.mkdirs();
-      	   
-      	 
-      	 
-      	   
-      	   EnvironmentConfig envConfig = new EnvironmentConfig();
-      	   StoreConfig storeConfig = new StoreConfig();
-      	   envConfig.setAllowCreate(true);
-      	   envConfig.setTransactional(true);
-      	   storeConfig.setAllowCreate(true);
-      	   storeConfig.setTransactional(true);
-      	   //envConfig.setTxnTimeout(10000, TimeUnit.MILLISECONDS);
-      	   //envConfig.setLockTimeout(10000, TimeUnit.MILLISECONDS);
-      	   
-      	   envmnt.add(new Environment(envHome, envConfig));
-      	   store.add(new EntityStore(envmnt.get(tableCount-1), tableName, storeConfig));
-      	   
-      	   
-      	   txn.add(tableCount-1, envmnt.get(tableCount-1).beginTransaction(null, null));
+      	   store.add(EnvManager.openTableStore(tableName));
+      	   catalog.SetTableStore(tableName, store.get(tableIndex.get(tableName)));
           
       	   
       	   
@@ -95,34 +69,9 @@ public class RelDecl extends Decl_rel {
       		   tmp = tmp.right;
       	   }
       	   
-      	   if(catalog.indexEnv.get(tableName)==null){
-      		   catalog.indexEnv.put(tableName,new ArrayList<Environment>() );
-      	   }
-      	 
-      	   if(catalog.indexStore.get(tableName)==null){
-      		   catalog.indexStore.put(tableName,new ArrayList<EntityStore>() );
-      	   }
-      	
-      	   if(catalog.indexTxn.get(tableName)==null){
-      		   catalog.indexTxn.put(tableName,new ArrayList<Transaction>() );
-      	   }
-      	   
+      	   //index stores are opened lazily by IndxDecl
       	   for(int i = 0;i<catalog.ColInfo.get(tableName).size();++i){
-      		   EnvironmentConfig envConfig2 = new EnvironmentConfig();
-        	   StoreConfig storeConfig2 = new StoreConfig();
-        	   envConfig2.setAllowCreate(true);
-        	   envConfig2.setTransactional(true);
-        	   storeConfig2.setAllowCreate(true);
-        	   storeConfig2.setTransactional(true);
-        	   
-      		   String colName = catalog.ColInfo.get(tableName).get(i);
-      		   envHome = new File("./DataBase/"+dbName+"/dbIndex/"+tableName,"Index "+" "+colName);
-        	   	if(!envHome.exists())
-        		   envHome.mkdirs();
-        	   catalog.addEnvHome(tableName, envHome);	
-        	   catalog.indexEnv.get(tableName).add(new Environment(envHome,envConfig2));
-        	   catalog.indexStore.get(tableName).add(new EntityStore(catalog.indexEnv.get(tableName).get(i), tableName, storeConfig2));
-        	   catalog.indexTxn.get(tableName).add(catalog.indexEnv.get(tableName).get(i).beginTransaction(null, null));
+      		   catalog.InitialIndexStore(tableName);
       	   }
       	   
       	   
@@ -0,0 +1,225 @@
+package mdb;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.sleepycat.bind.tuple.TupleInput;
+import com.sleepycat.bind.tuple.TupleOutput;
+import com.sleepycat.util.PackedInteger;
+
+//binary encoding of one tuple's column values.
+//layout: packed column count, one packed offset per column (relative to the
+//start of the value area), then the values. Every value starts with a type
+//tag; ints are sorted packed ints, strings are a packed byte length followed
+//by UTF-8. A single column is read by seeking to its offset, the rest of the
+//row is never decoded.
+public class Row implements Record {
+	public static final byte INT_COL = 'I';
+	public static final byte STR_COL = 'S';
+
+	private final byte[] buf;
+	//absolute start of each value, filled in on first access. volatile as
+	//parallel operators may read one row from several threads
+	private volatile int[] offsets;
+
+	public Row(byte[] buf){
+		this.buf = buf;
+	}
+
+	//encode column values given as literals, typed by the table's ColField.
+	//throws NumberFormatException if an int column holds a non int literal
+	public static Row encode(List<String> val, List<String> colField){
+		int n = val.size();
+		int[] pos = new int[n];
+		TupleOutput body = new TupleOutput();
+		for(int i=0;i<n;++i){
+			pos[i] = body.size();
+			if(colField.get(i).equals("int"))
+				writeInt(body, Integer.parseInt(val.get(i)));
+			else
+				writeString(body, utf8(val.get(i)));
+		}
+		return assemble(pos, body);
+	}
+
+	//a record of any kind, e.g. a join result, as a self-contained Row
+	public static Row of(Record r){
+		if(r instanceof Row)
+			return (Row) r;
+		int n = r.size();
+		int[] pos = new int[n];
+		TupleOutput body = new TupleOutput();
+		for(int i=0;i<n;++i){
+			pos[i] = body.size();
+			if(r.isInt(i))
+				writeInt(body, r.getInt(i));
+			else
+				writeString(body, utf8(r.getString(i)));
+		}
+		return assemble(pos, body);
+	}
+
+	//a row of Integer and String values
+	public static Row of(Object[] val){
+		int n = val.length;
+		int[] pos = new int[n];
+		TupleOutput body = new TupleOutput();
+		for(int i=0;i<n;++i){
+			pos[i] = body.size();
+			if(val[i] instanceof Integer)
+				writeInt(body, (Integer) val[i]);
+			else
+				writeString(body, utf8((String) val[i]));
+		}
+		return assemble(pos, body);
+	}
+
+	//order of two values of one column, both Integer or both String; the
+	//order the column's index keeps them in
+	public static int compareValues(Object a, Object b){
+		if(a instanceof Integer)
+			return ((Integer) a).compareTo((Integer) b);
+		return compareStrings((String) a, (String) b);
+	}
+
+	//order of two strings in an index key. TupleOutput.writeString writes
+	//modified UTF-8, whose byte order is UTF-16 char order except that U+0000
+	//is written as C0 80 and so sorts between U+007F and U+0080. String
+	//predicates and merge joins follow this order so they agree with index
+	//ranges.
+	public static int compareStrings(String a, String b){
+		int n = Math.min(a.length(), b.length());
+		for(int k=0;k<n;++k){
+			char x = a.charAt(k);
+			char y = b.charAt(k);
+			if(x != y)
+				return charRank(x) - charRank(y);
+		}
+		return a.length() - b.length();
+	}
+
+	private static int charRank(char c){
+		return c == 0 ? 0x7f * 2 + 1 : c * 2;
+	}
+
+	//rank of a byte of standard UTF-8 that gives the order of compareStrings:
+	//U+0000 goes between U+007F and U+0080, and the lead byte of a
+	//supplementary character, whose UTF-16 form is a surrogate pair, between
+	//U+D7FF (lead ED) and U+E000 (lead EE). Continuation bytes keep their
+	//order, as the lead bytes before them are the same.
+	private static int byteRank(int b){
+		if(b == 0)
+			return 0x7f * 8 + 4;
+		if(b >= 0xf0)
+			return 0xed * 8 + 1 + (b - 0xf0);
+		return b * 8;
+	}
+
+	private static void writeInt(TupleOutput body, int v){
+		body.writeFast(INT_COL);
+		body.writeSortedPackedInt(v);
+	}
+
+	private static void writeString(TupleOutput body, byte[] b){
+		body.writeFast(STR_COL);
+		body.writePackedInt(b.length);
+		body.writeFast(b);
+	}
+
+	private static Row assemble(int[] pos, TupleOutput body){
+		int n = pos.length;
+		TupleOutput out = new TupleOutput();
+		out.writePackedInt(n);
+		for(int i=0;i<n;++i){
+			out.writePackedInt(pos[i]);
+		}
+		out.writeFast(body.getBufferBytes(), 0, body.size());
+		return new Row(out.toByteArray());
+	}
+
+	public static byte[] utf8(String s){
+		try{
+			return s.getBytes("UTF-8");
+		}catch(java.io.UnsupportedEncodingException e){
+			throw new IllegalStateException(e);
+		}
+	}
+
+	public byte[] getBytes(){
+		return buf;
+	}
+
+	public int size(){
+		return offsets().length;
+	}
+
+	private int[] offsets(){
+		int[] o = offsets;
+		if(o == null){
+			TupleInput in = new TupleInput(buf);
+			int n = in.readPackedInt();
+			o = new int[n];
+			for(int i=0;i<n;++i){
+				o[i] = in.readPackedInt();
+			}
+			int base = in.getBufferOffset();
+			for(int i=0;i<n;++i){
+				o[i] += base;
+			}
+			offsets = o;
+		}
+		return o;
+	}
+
+	public boolean isInt(int i){
+		return buf[offsets()[i]] == INT_COL;
+	}
+
+	public int getInt(int i){
+		return PackedInteger.readSortedInt(buf, offsets()[i] + 1);
+	}
+
+	public String getString(int i){
+		int off = offsets()[i] + 1;
+		int len = PackedInteger.readInt(buf, off);
+		off += PackedInteger.getReadIntLength(buf, off);
+		try{
+			return new String(buf, off, len, "UTF-8");
+		}catch(java.io.UnsupportedEncodingException e){
+			throw new IllegalStateException(e);
+		}
+	}
+
+	//compare a str column with an already encoded UTF-8 value without
+	//building a String, in the order of compareStrings.
+	public int compareString(int i, byte[] val){
+		int off = offsets()[i] + 1;
+		int len = PackedInteger.readInt(buf, off);
+		int start = off + PackedInteger.getReadIntLength(buf, off);
+		int n = Math.min(len, val.length);
+		for(int k=0;k<n;++k){
+			int a = buf[start+k] & 0xff;
+			int b = val[k] & 0xff;
+			if(a != b)
+				return byteRank(a) - byteRank(b);
+		}
+		return len - val.length;
+	}
+
+	//column value as it is printed
+	public String getText(int i){
+		if(isInt(i))
+			return Integer.toString(getInt(i));
+		return getString(i);
+	}
+
+	public ArrayList<String> toList(){
+		int n = size();
+		ArrayList<String> list = new ArrayList<String>(n);
+		for(int i=0;i<n;++i){
+			list.add(getText(i));
+		}
+		return list;
+	}
+
+}
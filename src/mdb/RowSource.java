@@ -0,0 +1,63 @@
+package mdb;
+
+import static mdb.Main.catalog;
+
+//an operator of the select pipeline. Rows are pulled one at a time with
+//next(), so a row is printed as soon as every operator below it has
+//produced it and an operator only keeps the state it needs, e.g. the build
+//side of a hash join, never a copy of every table.
+public abstract class RowSource {
+	//source table, column name and type ("int"/"str") of each output column
+	protected String[] tables;
+	protected String[] columns;
+	protected String[] types;
+
+	public abstract void open();
+
+	//the next row, null once the source is exhausted
+	public abstract Record next();
+
+	public abstract void close();
+
+	//rows expected from next(), for the planner
+	public abstract long estimate();
+
+	public int width(){
+		return columns.length;
+	}
+
+	public String getTable(int i){
+		return tables[i];
+	}
+
+	public String getColumn(int i){
+		return columns[i];
+	}
+
+	public String getType(int i){
+		return types[i];
+	}
+
+	//position of tableName.colName in the output, -1 if it is not produced
+	public int find(String tableName, String colName){
+		for(int i=0;i<columns.length;++i){
+			if(tables[i].equals(tableName) && columns[i].equals(colName))
+				return i;
+		}
+		return -1;
+	}
+
+	//output columns of a stored table
+	protected void tableSchema(String tableName){
+		int n = catalog.ColInfo.get(tableName).size();
+		tables = new String[n];
+		columns = new String[n];
+		types = new String[n];
+		for(int i=0;i<n;++i){
+			tables[i] = tableName;
+			columns[i] = catalog.ColInfo.get(tableName).get(i);
+			types[i] = catalog.ColField.get(tableName).get(i);
+		}
+	}
+
+}
@@ -0,0 +1,317 @@
+package mdb;
+
+import static mdb.Main.catalog;
+import static mdb.Main.diskOrdered;
+import static mdb.Main.parallelism;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+
+//builds the operator pipeline of a select. Each table is read by a
+//TableScan or IndexScan with its own WHERE clauses pushed down. Tables are
+//then joined greedily: the plan starts from the table with the fewest
+//estimated rows and each step joins the smallest table connected to the
+//plan by a join clause, so intermediate results stay close to the smallest
+//inputs. Tables no join clause reaches are cross joined, smallest first.
+public class SelectPlanner {
+	//build sides estimated above this many rows are not hashed when both
+	//join columns are indexed; the indexes are merged instead
+	static final long HASH_MAX_ROWS = 500000;
+
+	private final List<String> tables;
+	private final AstNode where;
+	//tableName.colName of a join column left out of the output, mapped to
+	//the column it was equal to
+	private final HashMap<String, String> merged = new HashMap<String, String>();
+	private final ArrayList<String> joined = new ArrayList<String>();
+	//scan of every table, built once; estimates come from the catalog's
+	//sampled row counts
+	private final HashMap<String, RowSource> scans = new HashMap<String, RowSource>();
+	//every clause on a single table, for joins that read the table themselves
+	private final HashMap<String, Predicate> filters = new HashMap<String, Predicate>();
+	//join clauses between two different tables not applied yet
+	private final ArrayList<String[][]> pending = new ArrayList<String[][]>();
+	//tables in select * order and the table.column a join clause drops
+	//from it, see canonical()
+	private final ArrayList<String> layout = new ArrayList<String>();
+	private final ArrayList<String> hidden = new ArrayList<String>();
+	private RowSource plan = null;
+
+	//where is the first clause of the WherePred, or null
+	public SelectPlanner(List<String> tables, AstNode where){
+		this.tables = new ArrayList<String>();
+		for(String t : tables){
+			if(!this.tables.contains(t))
+				this.tables.add(t);
+		}
+		this.where = where;
+	}
+
+	//throws IllegalArgumentException with the message to print when the
+	//statement names a column that does not exist
+	public RowSource plan(Proj_list proj){
+		HashMap<String, ArrayList<Predicate>> sameTable = new HashMap<String, ArrayList<Predicate>>();
+		for(String t : tables){
+			sameTable.put(t, new ArrayList<Predicate>());
+		}
+		for(AstNode c = where; c != null; c = c.right){
+			if(c.arg[0].className().equals("SimpleClause")){
+				column(c.arg[0].arg[0]);
+				continue;
+			}
+			String[] a = column(c.arg[0].arg[0]);
+			String[] b = column(c.arg[0].arg[1]);
+			if(a[0].equals(b[0])){
+				//self join: a filter on the table's own scan
+				int i = catalog.ColInfo.get(a[0]).indexOf(a[1]);
+				int j = catalog.ColInfo.get(a[0]).indexOf(b[1]);
+				sameTable.get(a[0]).add(new Predicate.ColumnsEqual(i, j));
+			}
+			else
+				pending.add(new String[][]{a, b});
+		}
+		HashMap<String, HashSet<Integer>> needed = needed(proj);
+		for(String t : tables){
+			Predicate p = Predicate.compileWhere(where, t, tables);
+			AccessPath path = AccessPath.choose(t, p, needed.get(t));
+			RowSource s;
+			if(!path.isFullScan())
+				s = new IndexScan(path, p);
+			else if(diskOrdered)
+				s = new DiskOrderedScan(t, p);
+			else if(parallelism > 1)
+				s = new ParallelScan(t, p);
+			else
+				s = new TableScan(t, p);
+			if(!sameTable.get(t).isEmpty()){
+				s = new Filter(s, Predicate.and(sameTable.get(t)));
+				sameTable.get(t).add(p);
+				p = Predicate.and(sameTable.get(t));
+			}
+			scans.put(t, s);
+			filters.put(t, p);
+		}
+		canonical();
+
+		while(joined.size() < tables.size()){
+			//the first join starts from the smallest table, later ones add the
+			//smallest table reachable from the plan
+			int side = (plan == null) ? 0 : 1;
+			String[][] next = null;
+			for(String[][] e : pending){
+				String[][] c = orient(e);
+				if(c != null && (next == null || scans.get(c[side][0]).estimate() < scans.get(next[side][0]).estimate()))
+					next = c;
+			}
+			if(next != null){
+				join(next[0], next[1]);
+				pending.remove(findPending(next));
+			}
+			else{
+				String t = null;
+				for(String x : tables){
+					if(!joined.contains(x) && (t == null || scans.get(x).estimate() < scans.get(t).estimate()))
+						t = x;
+				}
+				plan = (plan == null) ? scans.get(t) : new CrossJoin(plan, scans.get(t));
+				joined.add(t);
+			}
+			//clauses whose tables are now both in the plan
+			for(int i=pending.size()-1;i>=0;--i){
+				String[] a = pending.get(i)[0];
+				String[] b = pending.get(i)[1];
+				if(joined.contains(a[0]) && joined.contains(b[0])){
+					plan = new Filter(plan, new Predicate.ColumnsEqual(resolve(a[0], a[1]), resolve(b[0], b[1])));
+					pending.remove(i);
+				}
+			}
+		}
+
+		ArrayList<String[]> out = new ArrayList<String[]>();
+		if(proj.className().equals("All")){
+			if(tables.size() == 1)
+				return plan;
+			for(String t : layout){
+				for(String c : catalog.ColInfo.get(t)){
+					if(!hidden.contains(t + "." + c))
+						out.add(new String[]{t, c});
+				}
+			}
+		}
+		else{
+			for(AstNode f = proj.arg[0].arg[0]; f != null; f = f.right){
+				out.add(column(f.arg[0]));
+			}
+		}
+		int[] cols = new int[out.size()];
+		String[] t = new String[out.size()];
+		String[] c = new String[out.size()];
+		for(int i=0;i<cols.length;++i){
+			t[i] = out.get(i)[0];
+			c[i] = out.get(i)[1];
+			cols[i] = resolve(t[i], c[i]);
+		}
+		return new Project(plan, cols, t, c);
+	}
+
+	//positions of the columns of every table the statement reads, so an
+	//index holding all of them can stand in for the table
+	private HashMap<String, HashSet<Integer>> needed(Proj_list proj){
+		HashMap<String, HashSet<Integer>> res = new HashMap<String, HashSet<Integer>>();
+		for(String t : tables){
+			res.put(t, new HashSet<Integer>());
+			if(proj.className().equals("All")){
+				for(int i=0;i<catalog.ColInfo.get(t).size();++i){
+					res.get(t).add(i);
+				}
+			}
+		}
+		ArrayList<String[]> cols = new ArrayList<String[]>();
+		if(!proj.className().equals("All")){
+			for(AstNode f = proj.arg[0].arg[0]; f != null; f = f.right){
+				cols.add(column(f.arg[0]));
+			}
+		}
+		for(AstNode c = where; c != null; c = c.right){
+			cols.add(column(c.arg[0].arg[0]));
+			if(!c.arg[0].className().equals("SimpleClause"))
+				cols.add(column(c.arg[0].arg[1]));
+		}
+		for(String[] c : cols){
+			res.get(c[0]).add(catalog.ColInfo.get(c[0]).indexOf(c[1]));
+		}
+		return res;
+	}
+
+	//table and column of a FieldName or RelDotField
+	private String[] column(AstNode field){
+		String t = Predicate.clauseTable(field, tables);
+		String c = Predicate.clauseColumn(field);
+		if(!tables.contains(t) || !catalog.ColInfo.get(t).contains(c))
+			throw new IllegalArgumentException("Wrong column name!");
+		return new String[]{t, c};
+	}
+
+	//select * lays the tables out in the order the join clauses bring them
+	//in, as written, then the tables no join clause names in FROM order. A
+	//clause that brings in a new table drops that table's join column; one
+	//between two tables already laid out drops nothing. This does not depend
+	//on the join order the planner picks.
+	private void canonical(){
+		for(AstNode c = where; c != null; c = c.right){
+			if(c.arg[0].className().equals("SimpleClause"))
+				continue;
+			String[] a = column(c.arg[0].arg[0]);
+			String[] b = column(c.arg[0].arg[1]);
+			boolean inA = layout.contains(a[0]);
+			boolean inB = layout.contains(b[0]);
+			if(a[0].equals(b[0]) || (inA && inB)){
+				if(!inA)
+					layout.add(a[0]);
+			}
+			else if(inA){
+				layout.add(b[0]);
+				hidden.add(b[0] + "." + b[1]);
+			}
+			else if(inB){
+				layout.add(a[0]);
+				hidden.add(a[0] + "." + a[1]);
+			}
+			else{
+				layout.add(a[0]);
+				layout.add(b[0]);
+				hidden.add(b[0] + "." + b[1]);
+			}
+		}
+		for(String t : tables){
+			if(!layout.contains(t))
+				layout.add(t);
+		}
+	}
+
+	//a pending clause as {column in the plan, column of a new table}, null
+	//if it does not connect the plan to a new table
+	private String[][] orient(String[][] e){
+		boolean a = joined.contains(e[0][0]);
+		boolean b = joined.contains(e[1][0]);
+		if(plan == null){
+			//start from the smaller side of the first join
+			if(scans.get(e[0][0]).estimate() <= scans.get(e[1][0]).estimate())
+				return new String[][]{e[0], e[1]};
+			return new String[][]{e[1], e[0]};
+		}
+		if(a && !b)
+			return e;
+		if(b && !a)
+			return new String[][]{e[1], e[0]};
+		return null;
+	}
+
+	private String[][] findPending(String[][] c){
+		for(String[][] e : pending){
+			if((e[0] == c[0] && e[1] == c[1]) || (e[0] == c[1] && e[1] == c[0]))
+				return e;
+		}
+		return null;
+	}
+
+	//position of tableName.colName in the plan output
+	private int resolve(String tableName, String colName){
+		String k = physical(tableName, colName);
+		int dot = k.indexOf('.');
+		return plan.find(k.substring(0, dot), k.substring(dot + 1));
+	}
+
+	//table.column the plan carries for tableName.colName
+	private String physical(String tableName, String colName){
+		String k = tableName + "." + colName;
+		while(merged.containsKey(k))
+			k = merged.get(k);
+		return k;
+	}
+
+	//join the table of b to the plan on a = b; a's table is already in the
+	//plan, or the plan is empty and a's table joins first
+	private void join(String[] a, String[] b){
+		RowSource inner = scans.get(b[0]);
+		int bCol = catalog.ColInfo.get(b[0]).indexOf(b[1]);
+		if(plan == null){
+			RowSource outer = scans.get(a[0]);
+			int aCol = catalog.ColInfo.get(a[0]).indexOf(a[1]);
+			joined.add(a[0]);
+			//neither side fits a hash table: merge the two column indexes
+			if(Math.min(outer.estimate(), inner.estimate()) > HASH_MAX_ROWS
+					&& MergeJoin.usable(a[0], aCol, b[0], bCol)){
+				plan = new MergeJoin(a[0], aCol, filters.get(a[0]), outer.estimate(),
+						b[0], bCol, filters.get(b[0]), inner.estimate());
+				merged.put(b[0] + "." + b[1], a[0] + "." + a[1]);
+				joined.add(b[0]);
+				return;
+			}
+			plan = outer;
+		}
+		int col = resolve(a[0], a[1]);
+		//the index on b's join column is probed once per plan row when that
+		//reads fewer rows than scanning b; every probe is a random read,
+		//hence SCAN_RATIO
+		if(IndexJoin.usable(plan, col, b[0], bCol)
+				&& plan.estimate() * AccessPath.SCAN_RATIO < inner.estimate()){
+			plan = new IndexJoin(plan, col, b[0], bCol, filters.get(b[0]));
+			merged.put(b[0] + "." + b[1], a[0] + "." + a[1]);
+		}
+		//hash the smaller side
+		else if(plan.estimate() < inner.estimate()){
+			String k = physical(a[0], a[1]);
+			plan = new HashJoin(inner, bCol, plan, col);
+			merged.put(k, b[0] + "." + b[1]);
+		}
+		else{
+			plan = new HashJoin(plan, col, inner, bCol);
+			merged.put(b[0] + "." + b[1], a[0] + "." + a[1]);
+		}
+		joined.add(b[0]);
+	}
+
+}
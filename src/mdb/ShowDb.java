@@ -43,13 +43,13 @@ public class ShowDb extends Show {
     		String tableName = catalog.TableName.get(i);
     		System.out.println(tableName);
     		
-    		PrimaryIndex<String,Tuple> pi = store.get(i).getPrimaryIndex(String.class, Tuple.class);
+    		PrimaryIndex<Long,Tuple> pi = store.get(i).getPrimaryIndex(Long.class, Tuple.class);
     		
     		CursorConfig config = new CursorConfig();
     		config.setReadUncommitted(true);  
     		
     		
-    		EntityCursor<Tuple> pi_cursor = pi.entities(txn.get(tableIndex.get(tableName)),config);
+    		EntityCursor<Tuple> pi_cursor = pi.entities(txn,config);
     		try {
     				for (Tuple seci : pi_cursor) {
     					ArrayList<String> temp = seci.getValue();
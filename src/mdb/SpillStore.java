@@ -0,0 +1,57 @@
+package mdb;
+
+import static mdb.Main.envmnt;
+
+import com.sleepycat.bind.tuple.LongBinding;
+import com.sleepycat.je.Cursor;
+import com.sleepycat.je.Database;
+import com.sleepycat.je.DatabaseConfig;
+import com.sleepycat.je.DatabaseEntry;
+import com.sleepycat.je.OperationStatus;
+
+//rows an operator moved out of the heap, kept in order of arrival in a
+//temporary JE database: it is not transactional, not logged for recovery
+//and removed when closed, so it only costs cache and log writes under
+//memory pressure
+public class SpillStore {
+	private static int counter = 0;
+	private final Database db;
+	private long n = 0;
+	private Cursor cursor;
+	private final DatabaseEntry key = new DatabaseEntry();
+	private final DatabaseEntry data = new DatabaseEntry();
+
+	public SpillStore(){
+		DatabaseConfig config = new DatabaseConfig();
+		config.setAllowCreate(true);
+		config.setTemporary(true);
+		db = envmnt.openDatabase(null, "spill#" + (counter++), config);
+	}
+
+	public void add(Row r){
+		LongBinding.longToEntry(n++, key);
+		db.put(null, key, new DatabaseEntry(r.getBytes()));
+	}
+
+	public long size(){
+		return n;
+	}
+
+	//the stored rows from the first one on, null at the end
+	public Row next(){
+		if(cursor == null)
+			cursor = db.openCursor(null, null);
+		if(cursor.getNext(key, data, null) != OperationStatus.SUCCESS)
+			return null;
+		return new Row(data.getData());
+	}
+
+	public void close(){
+		if(cursor != null){
+			cursor.close();
+			cursor = null;
+		}
+		db.close();
+	}
+
+}
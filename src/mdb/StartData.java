@@ -12,6 +12,9 @@ import com.sleepycat.persist.model.PrimaryKey;
 
 public class StartData implements Serializable{
 	
+	//the id of the class before indexKeys and indexInclude were added, so
+	//start files written then still load, with both left null
+	private static final long serialVersionUID = 8872942152632081355L;
 	
 	private int tableCount;
 	private HashMap<String, Integer> tableIndex = new HashMap<String , Integer>();
@@ -19,6 +22,8 @@ public class StartData implements Serializable{
 	private HashMap<String , ArrayList<String>> ColInfo = new HashMap<String , ArrayList<String>>();
 	private HashMap<String , ArrayList<String>> ColField = new HashMap<String , ArrayList<String>>();
 	private HashMap<String , ArrayList<Boolean>> isIndexed = new HashMap<String , ArrayList<Boolean>>();
+	private HashMap<String , ArrayList<ArrayList<Integer>>> indexKeys = new HashMap<String , ArrayList<ArrayList<Integer>>>();
+	private HashMap<String , ArrayList<ArrayList<Integer>>> indexInclude = new HashMap<String , ArrayList<ArrayList<Integer>>>();
 
 	
 	
@@ -70,6 +75,22 @@ public class StartData implements Serializable{
 		return isIndexed;
 	}
 	
+	public void setIndexKeys(HashMap<String , ArrayList<ArrayList<Integer>>> t){
+		indexKeys = t;
+	}
+	
+	public HashMap<String , ArrayList<ArrayList<Integer>>> getIndexKeys(){
+		return indexKeys;
+	}
+	
+	public void setIndexInclude(HashMap<String , ArrayList<ArrayList<Integer>>> t){
+		indexInclude = t;
+	}
+	
+	public HashMap<String , ArrayList<ArrayList<Integer>>> getIndexInclude(){
+		return indexInclude;
+	}
+	
 	
 	
 	
@@ -1,6 +1,7 @@
 package mdb;
 
 import static mdb.Main.catalog;
+import static mdb.Main.txn;
 import Jakarta.util.*;
 
 import java.io.ByteArrayOutputStream;
@@ -27,8 +28,9 @@ import java.util.Vector;
 import java.io.*;
 import java.util.*;
 
+import com.sleepycat.je.CursorConfig;
 import com.sleepycat.je.Environment;
-import com.sleepycat.je.Transaction;
+import com.sleepycat.persist.EntityCursor;
 import com.sleepycat.persist.EntityStore;
 import com.sleepycat.persist.model.Persistent;
 
@@ -39,11 +41,24 @@ public class TableCatalog implements Serializable{
 	public HashMap<String , ArrayList<String>> ColInfo = new HashMap<String , ArrayList<String>>();
 	public HashMap<String , ArrayList<String>> ColField = new HashMap<String , ArrayList<String>>();
 	public HashMap<String , ArrayList<Boolean>> isIndexed = new HashMap<String , ArrayList<Boolean>>();
-		
-	public HashMap<String , ArrayList<Environment>> indexEnv = new HashMap<String , ArrayList<Environment>>();;
-	public HashMap<String , ArrayList<EntityStore>> indexStore = new HashMap<String , ArrayList<EntityStore>>();
-	public HashMap<String , ArrayList<Transaction>> indexTxn = new HashMap<String , ArrayList<Transaction>>();
-	public HashMap<String , ArrayList<File>> indexHome = new HashMap<String , ArrayList<File>>();
+	//key columns and included columns of the index led by each column; a
+	//null slot is a plain index on the column alone, or no index
+	public HashMap<String , ArrayList<ArrayList<Integer>>> indexKeys = new HashMap<String , ArrayList<ArrayList<Integer>>>();
+	public HashMap<String , ArrayList<ArrayList<Integer>>> indexInclude = new HashMap<String , ArrayList<ArrayList<Integer>>>();
+	
+	//index accessors of every open store. getPrimaryIndex/getSecondaryIndex
+	//go through the store's locked index map, so they are looked up once when
+	//a store is opened and shared by every statement. Column indexes are
+	//plain databases, opened once the same way.
+	public transient HashMap<String , TupleDA> tupleDA = new HashMap<String , TupleDA>();
+	public transient HashMap<String , ArrayList<IndexTupleDA>> indexDA = new HashMap<String , ArrayList<IndexTupleDA>>();
+	//rows of each table as last sampled, dropped once a statement adds or
+	//removes rows; see GetRowEstimate
+	public transient HashMap<String , Long> rowEstimate = new HashMap<String , Long>();
+	//the row id span is cut into SAMPLE_POINTS slices and at most
+	//SAMPLE_ROWS keys are read at the start of each
+	static final int SAMPLE_POINTS = 16;
+	static final int SAMPLE_ROWS = 64;
 	
 	public boolean FindTable(String Name){
 		return TableName.contains(Name);
@@ -85,27 +100,125 @@ public class TableCatalog implements Serializable{
 		isIndexed.get(T).set(pos, X);
 	}
 	
-	public void SetIndexEnv(String T, int pos, Environment e){
-		indexEnv.get(T).set(pos, e);
+	public void SetIndexStore(String T, int pos, IndexTupleDA s){
+		indexDA.get(T).set(pos, s);
 	}
 	
-	public void SetIndexStore(String T, int pos, EntityStore s){
-		indexStore.get(T).set(pos, s);
+	public void SetIndexCols(String T, int pos, ArrayList<Integer> keys, ArrayList<Integer> include){
+		if(indexKeys.get(T) == null){
+			indexKeys.put(T, new ArrayList<ArrayList<Integer>>());
+			indexInclude.put(T, new ArrayList<ArrayList<Integer>>());
+		}
+		while(indexKeys.get(T).size() <= pos){
+			indexKeys.get(T).add(null);
+			indexInclude.get(T).add(null);
+		}
+		indexKeys.get(T).set(pos, keys);
+		indexInclude.get(T).set(pos, include);
+	}
+	
+	public ArrayList<Integer> GetIndexKeys(String T, int pos){
+		ArrayList<ArrayList<Integer>> l = indexKeys.get(T);
+		if(l != null && pos < l.size() && l.get(pos) != null)
+			return l.get(pos);
+		ArrayList<Integer> keys = new ArrayList<Integer>();
+		keys.add(pos);
+		return keys;
+	}
+	
+	public ArrayList<Integer> GetIndexInclude(String T, int pos){
+		ArrayList<ArrayList<Integer>> l = indexInclude.get(T);
+		if(l != null && pos < l.size() && l.get(pos) != null)
+			return l.get(pos);
+		return new ArrayList<Integer>();
+	}
+	
+	public void SetTableStore(String T, EntityStore s){
+		tupleDA.put(T, new TupleDA(s));
+	}
+	
+	public TupleDA GetTupleDA(String T){
+		return tupleDA.get(T);
 	}
 	
-	public void SetIndexTransaction(String T, int pos, Transaction t){
-		indexTxn.get(T).set(pos, t);
+	public IndexTupleDA GetIndexDA(String T, int pos){
+		return indexDA.get(T).get(pos);
 	}
 	
-	public File getEnvHome(String T, int pos){
-		return indexHome.get(T).get(pos);
+	//index databases live in the shared environment and are only opened for
+	//indexed columns, so unindexed columns keep a null slot
+	public void InitialIndexStore(String T){
+		if(indexDA.get(T)==null){
+			indexDA.put(T, new ArrayList<IndexTupleDA>());
+		}
+		indexDA.get(T).add(null);
+	}
+	
+	//rows in table T, for the planner. Counting the primary index walks
+	//every record, so the keys are sampled instead: row ids come from a
+	//sequence, and the density of the keys read at the start of each slice
+	//of the span between the first and last id is scaled to the slice. A
+	//slice read to its end is counted exactly, so a small table comes out
+	//exact. The result is kept until the table's rows change.
+	public long GetRowEstimate(String T){
+		Long n = rowEstimate.get(T);
+		if(n == null){
+			n = sampleRows(T);
+			rowEstimate.put(T, n);
+		}
+		return n;
+	}
+	
+	//rows were added to or removed from T
+	public void RowsChanged(String T){
+		rowEstimate.remove(T);
+	}
+	
+	//an abort may have undone changes to any table
+	public void AllRowsChanged(){
+		rowEstimate.clear();
 	}
 	
-	public void addEnvHome(String T, File f){
-		if(indexHome.get(T)==null){
-			indexHome.put(T, new ArrayList<File>());
+	private long sampleRows(String T){
+		CursorConfig config = new CursorConfig();
+		config.setReadUncommitted(true);
+		long lo;
+		long hi;
+		EntityCursor<Long> c = GetTupleDA(T).pIdx.keys(txn, config);
+		try{
+			Long first = c.first();
+			if(first == null)
+				return 0;
+			lo = first;
+			hi = c.last() + 1;
+		}finally{
+			c.close();
+		}
+		double rows = 0;
+		for(int i=0;i<SAMPLE_POINTS;++i){
+			long from = lo + (hi - lo) * i / SAMPLE_POINTS;
+			long to = lo + (hi - lo) * (i + 1) / SAMPLE_POINTS;
+			if(from == to)
+				continue;
+			c = GetTupleDA(T).pIdx.keys(txn, from, true, to, false, config);
+			try{
+				int k = 0;
+				long last = from;
+				Long id = c.next();
+				while(id != null && k < SAMPLE_ROWS){
+					last = id;
+					++k;
+					id = c.next();
+				}
+				if(id == null)
+					rows += k;
+				else
+					rows += (double) k * (to - from) / (last - from + 1);
+			}finally{
+				c.close();
+			}
 		}
-		indexHome.get(T).add(f);
+		return Math.round(rows);
 	}
 	
 
@@ -0,0 +1,47 @@
+package mdb;
+
+import static mdb.Main.catalog;
+import static mdb.Main.txn;
+
+import com.sleepycat.je.CursorConfig;
+import com.sleepycat.persist.EntityCursor;
+
+//every row of a table in row id order that passes the table's WHERE clauses
+public class TableScan extends RowSource {
+	private final String tableName;
+	private final Predicate where;
+	private EntityCursor<Tuple> cursor;
+
+	public TableScan(String tableName, Predicate where){
+		this.tableName = tableName;
+		this.where = where;
+		tableSchema(tableName);
+	}
+
+	public void open(){
+		CursorConfig config = new CursorConfig();
+		config.setReadUncommitted(true);
+		cursor = catalog.GetTupleDA(tableName).pIdx.entities(txn, config);
+	}
+
+	public Record next(){
+		for(Tuple t = cursor.next(); t != null; t = cursor.next()){
+			Row r = t.getRow();
+			if(where.eval(r))
+				return r;
+		}
+		return null;
+	}
+
+	public long estimate(){
+		return (long) Math.ceil(catalog.GetRowEstimate(tableName) * where.selectivity());
+	}
+
+	public void close(){
+		if(cursor != null){
+			cursor.close();
+			cursor = null;
+		}
+	}
+
+}
@@ -2,7 +2,6 @@ package mdb;
 
 import static com.sleepycat.persist.model.Relationship.MANY_TO_ONE;
 
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 
@@ -14,30 +13,34 @@ import java.util.*;
 
 @Entity
 public class Tuple {
-	@PrimaryKey
-	private String pKey;
+	public static final String ROW_ID_SEQUENCE = "RowId";
+	
+	//row id, assigned from a cached per-table sequence on the first put so
+	//that new rows always append at the right edge of the B-tree
+	@PrimaryKey(sequence=ROW_ID_SEQUENCE)
+	private long pKey;
 	//Secondary key is the sKey
 	@SecondaryKey(relate=MANY_TO_ONE)
 	private String sKey;
 	
 	private String tableName;
-	private ArrayList<String> singleTuple;
+	//column values encoded by Row
+	private byte[] row;
+	private transient Row decoded;
 	
 	
 	
 	
 	
-	public void setPKey() {
-		long now = System.nanoTime();
-		SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy/MM/dd HH:mm:ss:SSS");
-		pKey = dateFormat.format( now ); 
+	public void setPKey(long key) {
+		pKey = key;
 	}
 	
 	public void setSKey(String data) {
 	sKey = data;
 	}
 	
-	public String getPKey() {
+	public long getPKey() {
 	return pKey;
 	}
 	
@@ -53,12 +56,19 @@ public class Tuple {
 		return tableName;
 	}
 	
-	public void setValue(ArrayList<String> X){
-		singleTuple = new ArrayList<String>(X);
+	public void setRow(Row r){
+		row = r.getBytes();
+		decoded = r;
+	}
+	
+	public Row getRow(){
+		if(decoded == null)
+			decoded = new Row(row);
+		return decoded;
 	}
 	
 	public ArrayList<String> getValue(){
-		return singleTuple;
+		return getRow().toList();
 	}
 	
 	
@@ -8,12 +8,12 @@ import com.sleepycat.persist.SecondaryIndex;
 public class TupleDA {
 	public TupleDA(EntityStore store) throws DatabaseException {
 			// Primary key for SimpleEntityClass classes
-			pIdx = store.getPrimaryIndex(String.class, Tuple.class);
+			pIdx = store.getPrimaryIndex(Long.class, Tuple.class);
 			sIdx = store.getSecondaryIndex( pIdx, String.class, "sKey");
 					}
 			// Index Accessors
-			PrimaryIndex<String,Tuple> pIdx;
-			SecondaryIndex<String,String,Tuple> sIdx;
+			PrimaryIndex<Long,Tuple> pIdx;
+			SecondaryIndex<String,Long,Tuple> sIdx;
 
 }
 
@@ -0,0 +1,30 @@
+// Automatically generated code.  Edit at your own risk!
+// Generated by bali2jak v2002.09.03.
+
+package mdb;
+
+public class Values_listElem extends AstListNode {
+
+    public AstToken getCOMMA () {
+        return (AstToken) tok [0] ;
+    }
+
+    public Values getValues () {
+        
+        return (Values) arg [0] ;
+    }
+
+    public Values_listElem setParms (AstToken tok0, Values arg0) {
+        
+        tok = new AstToken [1] ;
+        tok [0] = tok0 ;            /* COMMA */
+        return setParms (arg0) ;    /* Values */
+    }
+
+    public Values_listElem setParms (Values arg0) {
+        
+        super.setParms (arg0) ;     /* Values */
+        return (Values_listElem) this ;
+    }
+
+}
@@ -40,6 +40,7 @@ code {
 "from"          	FROM
 ">="            	GE
 ">"             	GT
+"include"       	INCLUDE
 "index"         	INDEX
 "insert"        	INSERT
 "int"           	INTEGER
@@ -132,7 +133,7 @@ Ddl_stmt
 	;
 
 Decl_ind
-	:  INDEX Rel_dot_field SEMI       ::IndxDecl
+	:  INDEX Rel_name DOT Index_key [Include] SEMI   ::IndxDecl
 	;
 
 Decl_rel
@@ -151,6 +152,7 @@ Dml_stmt
 	|  Delete
 	|  ExitMDB
 	|  Insert
+	|  Load
 	|  Open
 	|  Script
 	|  Select
@@ -165,6 +167,10 @@ Field_decl
 	:  Field_name Field_type ::FieldDecl
 	;
 
+Field_list
+	:  Field_name ( COMMA Field_name )*
+	;
+
 Field_name
 	:  IDENTIFIER             ::FieldName
 	;
@@ -184,9 +190,17 @@ Fld_decl_list
 	:  Field_decl ( COMMA Field_decl )*
 	;
 
+Include
+	:  INCLUDE LP Field_list RP       ::IncludeCols
+	;
+
+Index_key
+	:  Field_name                     ::KeyCol
+	|  LP Field_list RP               ::KeyCols
+	;
+
 Insert
-	:  INSERT INTO Rel_name VALUES 
-                 LP Literal_list RP SEMI                 ::InsertCmd
+	:  INSERT INTO Rel_name VALUES Values_list SEMI  ::InsertCmd
 	;
 
 Literal
@@ -198,6 +212,10 @@ Literal_list
 	:  Literal ( COMMA Literal )*
 	;
 
+Load
+	:  LOAD Rel_name FROM STRING_LITERAL SEMI   ::LoadCmd
+	;
+
 One_rel_clause
 	:  Field_name Rel Literal ::OneRelClause
 	;
@@ -264,6 +282,14 @@ Update
                                         ::UpdateCmd
 	;
 
+Values
+	:  LP Literal_list RP      ::ValuesRow
+	;
+
+Values_list
+	:  Values ( COMMA Values )*
+	;
+
 WherePred
 	: WHERE Pred     ::WherePredStmt
 	;
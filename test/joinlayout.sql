@@ -0,0 +1,35 @@
+open "joinlayout";
+.
+create table emp(
+empno int,
+name str);
+.
+create table dept(
+deptno int,
+dept_name str,
+chairman str);
+.
+create table univ(
+univno int,
+univ_name str,
+deptno int,
+empno int);
+.
+insert into emp values (1, "ann"), (2, "bob");
+.
+insert into dept values (10, "CS", "carl"), (20, "EE", "dora");
+.
+insert into univ values (100, "UT", 10, 1), (200, "MIT", 20, 2);
+.
+select * from emp, dept, univ where emp.empno = univ.empno and univ.deptno = dept.deptno;
+.
+select * from emp, dept, univ where univ.deptno = dept.deptno and emp.empno = univ.empno;
+.
+select * from dept, emp, univ where emp.empno = univ.empno;
+.
+abort;
+.
+close;
+.
+exit;
+.
@@ -0,0 +1,18 @@
+open "loadorder";
+.
+create table e(
+k int,
+name str);
+.
+index e.k;
+.
+load e from "test/loadorder.csv";
+.
+select k, name from e where k < 3;
+.
+select * from e where k = 0;
+.
+close;
+.
+exit;
+.